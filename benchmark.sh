@@ -0,0 +1,51 @@
+#!/bin/bash
+# Runs the JMH benchmark suite and optionally compares it with a previous result file.
+#
+# Usage:
+#   ./benchmark.sh                              # run all benchmarks
+#   ./benchmark.sh 'ProductService.*'           # run benchmarks matching a regex
+#   BASELINE=main.json ./benchmark.sh           # run and compare with a saved result
+#   ./benchmark.sh --compare base.json new.json # compare two saved results without running
+
+set -e
+
+compare() {
+    local baseline="$1"
+    local current="$2"
+    echo ""
+    echo "📊 Comparing $current against $baseline"
+    printf "%-75s %15s %15s %9s\n" "Benchmark" "Baseline" "Current" "Change"
+    jq -r -n --slurpfile base "$baseline" --slurpfile cur "$current" '
+        def key: .benchmark + ((.params // {}) | to_entries | map("," + .key + "=" + .value) | join(""));
+        ($base[0] | map({key: key, value: .primaryMetric.score}) | from_entries) as $scores
+        | $cur[0][]
+        | key as $k
+        | [$k, ($scores[$k] // "n/a"), .primaryMetric.score, .primaryMetric.scoreUnit,
+           (if $scores[$k] then ((.primaryMetric.score - $scores[$k]) / $scores[$k] * 100) else null end)]
+        | @tsv' |
+    while IFS=$'\t' read -r name base cur unit change; do
+        if [ -n "$change" ]; then
+            printf "%-75s %15.3f %15.3f %+8.1f%% %s\n" "${name#com.celfons.productcrud.}" "$base" "$cur" "$change" "$unit"
+        else
+            printf "%-75s %15s %15.3f %9s %s\n" "${name#com.celfons.productcrud.}" "$base" "$cur" "new" "$unit"
+        fi
+    done
+}
+
+if [ "$1" = "--compare" ]; then
+    compare "$2" "$3"
+    exit 0
+fi
+
+INCLUDES=${1:-".*"}
+RESULT="target/jmh-result.json"
+
+echo "⏱️  Running JMH benchmarks matching: $INCLUDES"
+./mvnw -B -Pjmh verify -DskipTests -Djmh.includes="$INCLUDES" -Djmh.result="$(pwd)/$RESULT"
+
+echo "✅ Results written to $RESULT"
+echo "   Keep a copy (e.g. cp $RESULT jmh-\$(git rev-parse --short HEAD).json) to compare later commits."
+
+if [ -n "$BASELINE" ]; then
+    compare "$BASELINE" "$RESULT"
+fi
@@ -0,0 +1,88 @@
+#!/bin/bash
+# Load-tests the virtual-thread (servlet) and reactive (WebFlux) stacks side by side
+# against the same MongoDB, using hey (https://github.com/rakyll/hey).
+#
+# Usage:
+#   SPRING_DATA_MONGODB_URI=mongodb://localhost:27017/productdb ./compare-stacks.sh
+#   CONCURRENCY=500 DURATION=60s ./compare-stacks.sh
+#
+# The jar must be built first (./mvnw -B package -DskipTests).
+
+set -e
+
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30s}
+PORT=${PORT:-8080}
+JAR=$(ls target/product-crud-*.jar | grep -v original | head -n 1)
+BASE="http://localhost:$PORT/api/products"
+RESULTS="target/stack-comparison"
+
+command -v hey >/dev/null || { echo "❌ hey is required: go install github.com/rakyll/hey@latest"; exit 1; }
+[ -n "$SPRING_DATA_MONGODB_URI" ] || { echo "❌ SPRING_DATA_MONGODB_URI must be set"; exit 1; }
+mkdir -p "$RESULTS"
+
+wait_for_startup() {
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:$PORT/actuator/health" >/dev/null && return 0
+        sleep 1
+    done
+    echo "❌ Application did not start"
+    return 1
+}
+
+seed() {
+    local body="["
+    for i in $(seq 1 500); do
+        body="$body{\"name\":\"Load product $i\",\"description\":\"Seeded for the stack comparison\",\"price\":$i.99},"
+    done
+    curl -sf -X POST "$BASE/batch" -H "Content-Type: application/json" -d "${body%,}]" >/dev/null
+}
+
+run_stack() {
+    local stack="$1"
+    local profiles="$2"
+    echo ""
+    echo "🚀 Starting $stack stack (profiles: ${profiles:-default})"
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "$RESULTS/$stack.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    wait_for_startup
+    if [ "$stack" = "virtual" ]; then
+        # Seed through the servlet stack, the only one exposing batch endpoints
+        seed
+    fi
+
+    local id
+    id=$(curl -sf "$BASE?limit=1" | jq -r '.[0].id')
+    for scenario in "get-by-id|$BASE/$id" "list|$BASE?limit=100" "search|$BASE/search?name=load&match=prefix" \
+                    "price-range|$BASE/price-range?min=10&max=200"; do
+        local name="${scenario%%|*}"
+        local url="${scenario#*|}"
+        echo "   ⏱️  $name"
+        hey -z "$DURATION" -c "$CONCURRENCY" "$url" > "$RESULTS/$stack-$name.txt"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+summary() {
+    printf "%-14s %-12s %12s %12s %12s\n" "Scenario" "Stack" "Req/s" "p50 (s)" "p99 (s)"
+    for name in get-by-id list search price-range; do
+        for stack in virtual reactive; do
+            local file="$RESULTS/$stack-$name.txt"
+            printf "%-14s %-12s %12s %12s %12s\n" "$name" "$stack" \
+                "$(awk '/Requests\/sec/ {print $2}' "$file")" \
+                "$(awk '/ 50%/ {print $3}' "$file")" \
+                "$(awk '/ 99%/ {print $3}' "$file")"
+        done
+    done
+}
+
+run_stack virtual ""
+run_stack reactive "reactive"
+
+echo ""
+echo "📊 $CONCURRENCY concurrent clients for $DURATION per scenario (raw output in $RESULTS)"
+summary
@@ -0,0 +1,63 @@
+#!/bin/bash
+# Runs the load-test suite (src/loadtest/java) with platform and virtual request threads and compares them,
+# or compares two saved result files.
+#
+# Usage:
+#   ./loadtest.sh                                  # both thread models at RATE req/s
+#   RATE=5000 DURATION=120s ./loadtest.sh          # heavier and longer
+#   THREADS=virtual ./loadtest.sh                  # one thread model only
+#   ./loadtest.sh --compare base.json new.json     # compare two saved results without running
+#
+# MongoDB is a local mongod downloaded and started by the suite, unless SPRING_DATA_MONGODB_URI is set;
+# its "loadtest" database is emptied and re-seeded on every run.
+
+set -e
+
+RATE=${RATE:-1000}
+WARMUP=${WARMUP:-15s}
+DURATION=${DURATION:-60s}
+PRODUCTS=${PRODUCTS:-10000}
+SLO_P99=${SLO_P99:-100ms}
+THREADS=${THREADS:-"platform virtual"}
+RESULTS="target/loadtest"
+
+compare() {
+    local baseline="$1"
+    local current="$2"
+    echo ""
+    echo "📊 Comparing $current against $baseline"
+    printf "%-12s %12s %12s %12s %12s %9s\n" "Operation" "Base req/s" "Req/s" "Base p99 ms" "p99 ms" "p99 diff"
+    jq -r -n --slurpfile base "$baseline" --slurpfile cur "$current" '
+        ($base[0].operations + [$base[0].total] | map({key: .name, value: .}) | from_entries) as $b
+        | $cur[0].operations + [$cur[0].total]
+        | .[]
+        | [.name, ($b[.name].throughput // "n/a"), .throughput, ($b[.name].latency_ms.p99 // "n/a"), .latency_ms.p99,
+           (if $b[.name] and $b[.name].latency_ms.p99 > 0
+            then ((.latency_ms.p99 - $b[.name].latency_ms.p99) / $b[.name].latency_ms.p99 * 100) else null end)]
+        | @tsv' |
+    while IFS=$'\t' read -r name base_rps rps base_p99 p99 change; do
+        if [ -n "$change" ]; then
+            printf "%-12s %12.1f %12.1f %12.2f %12.2f %+8.1f%%\n" "$name" "$base_rps" "$rps" "$base_p99" "$p99" "$change"
+        else
+            printf "%-12s %12s %12.1f %12s %12.2f %9s\n" "$name" "$base_rps" "$rps" "$base_p99" "$p99" "new"
+        fi
+    done
+}
+
+if [ "$1" = "--compare" ]; then
+    compare "$2" "$3"
+    exit 0
+fi
+
+mkdir -p "$RESULTS"
+for threads in $THREADS; do
+    echo "⏱️  Load test with $threads threads: $RATE req/s, $WARMUP warm-up, $DURATION measured"
+    ./mvnw -B -q -Ploadtest verify -DskipTests -Dloadtest.threads="$threads" -Dloadtest.rate="$RATE" \
+        -Dloadtest.warmup="$WARMUP" -Dloadtest.duration="$DURATION" -Dloadtest.products="$PRODUCTS" \
+        -Dloadtest.slo-p99="$SLO_P99" -Dloadtest.result="$(pwd)/$RESULTS/$threads.json"
+done
+
+echo "✅ Results written to $RESULTS"
+if [ -f "$RESULTS/platform.json" ] && [ -f "$RESULTS/virtual.json" ]; then
+    compare "$RESULTS/platform.json" "$RESULTS/virtual.json"
+fi
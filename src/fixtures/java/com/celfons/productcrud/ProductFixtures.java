@@ -0,0 +1,48 @@
+package com.celfons.productcrud;
+
+import com.celfons.productcrud.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic sample products and an ObjectMapper configured like application.properties,
+ * shared by the JMH benchmarks and the load test (src/fixtures/java, added by both profiles).
+ */
+public final class ProductFixtures {
+
+    private static final String[] WORDS = {
+            "laptop", "keyboard", "mouse", "monitor", "headset", "camera", "charger", "dock", "cable", "stand"
+    };
+
+    private ProductFixtures() {
+    }
+
+    /**
+     * ObjectMapper matching spring.jackson.* in application.properties (SNAKE_CASE, ISO dates).
+     */
+    public static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Builds a product whose name, description and price (0.01 to 5000.00) are derived from the given seed.
+     */
+    public static Product product(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String name = word(random) + " " + word(random) + " " + seed;
+        String description = "Sample " + name + ", with a description of realistic length for the catalog";
+        return new Product(name, description, BigDecimal.valueOf(random.nextInt(1, 500_001), 2));
+    }
+
+    public static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,64 @@
+package com.celfons.productcrud;
+
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.celfons.productcrud.concurrency.SingleFlight;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.repository.InMemoryProductRepositoryStub;
+import com.celfons.productcrud.repository.ProductRepository;
+import com.celfons.productcrud.service.ProductServiceImpl;
+import com.celfons.productcrud.stats.CatalogStatsAccumulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for the JMH benchmarks: stored-looking sample products built from ProductFixtures,
+ * and a ProductServiceImpl wired to the in-memory repository stand-in.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The shared sample product for the given seed, with fixed timestamps as if it had been stored.
+     */
+    public static Product product(long seed) {
+        Product product = ProductFixtures.product(seed);
+        product.setCreatedAt(CREATED_AT);
+        product.setUpdatedAt(CREATED_AT);
+        return product;
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    /**
+     * A ProductServiceImpl backed by the in-memory repository stand-in, seeded with the given number of products.
+     */
+    public static ProductServiceImpl productService(ProductRepository repository, boolean cacheEnabled) {
+        ProductCache cache = new ProductCache(cacheEnabled, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        return new ProductServiceImpl(repository, cache, new CatalogVersion(),
+                new SingleFlight(true, new SimpleMeterRegistry()),
+                new CatalogStatsAccumulator(List.of(new BigDecimal("10"), new BigDecimal("100"))),
+                Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    public static ProductRepository seededRepository(int count) {
+        ProductRepository repository = InMemoryProductRepositoryStub.create();
+        products(count).forEach(repository::save);
+        return repository;
+    }
+}
@@ -0,0 +1,87 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.ProductFixtures;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * End-to-end dispatch through ProductController with MockMvc: argument resolution,
+ * service call against the in-memory repository stand-in, and JSON rendering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductControllerBenchmark {
+
+    private MockMvc mockMvc;
+    private List<String> ids;
+    private byte[] createBody;
+
+    /**
+     * Re-seeded per iteration so products created by the previous iteration do not accumulate.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = ProductFixtures.objectMapper();
+        ProductRepository repository = BenchmarkFixtures.seededRepository(10_000);
+        ProductController controller = new ProductController(
+                BenchmarkFixtures.productService(repository, true), Optional.empty(), objectMapper,
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ProductExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        ids = repository.findPage(null, Limit.of(10_000), ProductField.ALL).stream().map(Product::getId).toList();
+        createBody = objectMapper.writeValueAsBytes(BenchmarkFixtures.product(-1));
+    }
+
+    @Benchmark
+    public MvcResult getProductById() throws Exception {
+        String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return mockMvc.perform(get("/api/products/{id}", id)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getProductsPage() throws Exception {
+        return mockMvc.perform(get("/api/products").param("limit", "100")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createProduct() throws Exception {
+        return mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createBody)).andReturn();
+    }
+}
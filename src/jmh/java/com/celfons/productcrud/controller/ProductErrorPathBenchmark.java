@@ -0,0 +1,128 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.ProductFixtures;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.service.ProductValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Throughput of rejected requests (400 and 404) through ProductController and ProductExceptionHandler,
+ * as under a storm of bad clients or scrapers probing missing ids.
+ * rejectWithNewException and rejectWithSharedException isolate the cost of the exception itself:
+ * a fresh IllegalArgumentException with its stack trace against the shared, stackless one the services throw.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductErrorPathBenchmark {
+
+    private static final String MISSING_ID = "000000000000000000000000";
+
+    private static final String INVALID_MESSAGE = "Product price cannot be negative";
+
+    private MockMvc mockMvc;
+    private byte[] invalidBody;
+    private byte[] validBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = ProductFixtures.objectMapper();
+        ProductController controller = new ProductController(
+                BenchmarkFixtures.productService(BenchmarkFixtures.seededRepository(1_000), true),
+                Optional.empty(), objectMapper, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ProductExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        invalidBody = objectMapper.writeValueAsBytes(
+                new Product("Broken", "Negative price", new BigDecimal("-1.00")));
+        validBody = objectMapper.writeValueAsBytes(BenchmarkFixtures.product(-1));
+    }
+
+    @Benchmark
+    public MvcResult createInvalidProduct() throws Exception {
+        return mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(invalidBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getMissingProduct() throws Exception {
+        return mockMvc.perform(get("/api/products/{id}", MISSING_ID)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateMissingProduct() throws Exception {
+        return mockMvc.perform(put("/api/products/{id}", MISSING_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(validBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult deleteMissingProduct() throws Exception {
+        return mockMvc.perform(delete("/api/products/{id}", MISSING_ID)).andReturn();
+    }
+
+    @Benchmark
+    public String rejectWithNewException() {
+        try {
+            throwNew();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String rejectWithSharedException() {
+        try {
+            throwShared();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Kept out of line, as a service method is, so the JIT cannot turn the throw into a jump to the catch.
+     */
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static void throwNew() {
+        throw new IllegalArgumentException(INVALID_MESSAGE);
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static void throwShared() {
+        throw ProductValidationException.of(INVALID_MESSAGE);
+    }
+}
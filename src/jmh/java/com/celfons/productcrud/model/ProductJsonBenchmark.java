@@ -0,0 +1,78 @@
+package com.celfons.productcrud.model;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.ProductFixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of Product with the application's SNAKE_CASE / ISO date settings.
+ * The "bean" serializer variant swaps ProductJsonSerializer for Jackson's reflective bean serializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductJsonBenchmark {
+
+    @Param({"1", "100"})
+    private int listSize;
+
+    @Param({"custom", "bean"})
+    private String serializer;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Product> products;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = ProductFixtures.objectMapper();
+        if ("bean".equals(serializer)) {
+            objectMapper.addMixIn(Product.class, BeanSerialized.class);
+        }
+        writer = objectMapper.writerFor(new TypeReference<List<Product>>() { });
+        reader = objectMapper.readerFor(new TypeReference<List<Product>>() { });
+        products = BenchmarkFixtures.products(listSize);
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId(Integer.toHexString(i));
+        }
+        json = writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialized {
+    }
+}
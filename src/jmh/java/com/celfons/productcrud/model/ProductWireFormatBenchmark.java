@@ -0,0 +1,81 @@
+package com.celfons.productcrud.model;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.ProductFixtures;
+import com.celfons.productcrud.config.BinaryFormatConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a product list in each wire format, with the mappers the application uses.
+ * The payload size of every format is printed once per trial, next to the JSON size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductWireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1", "100", "1000"})
+    private int listSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Product> products;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = ProductFixtures.objectMapper();
+        ObjectMapper mapper = switch (format) {
+            case "smile" -> BinaryFormatConfig.binaryMapper(json, new SmileFactory());
+            case "cbor" -> BinaryFormatConfig.binaryMapper(json, new CBORFactory());
+            default -> json;
+        };
+        TypeReference<List<Product>> listType = new TypeReference<>() { };
+        writer = mapper.writerFor(listType);
+        reader = mapper.readerFor(listType);
+        products = BenchmarkFixtures.products(listSize);
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId(Integer.toHexString(i));
+        }
+        payload = writer.writeValueAsBytes(products);
+        int jsonSize = json.writerFor(listType).writeValueAsBytes(products).length;
+        System.out.printf("%n%s payload for %d products: %d bytes (%.0f%% of JSON)%n",
+                format, listSize, payload.length, 100.0 * payload.length / jsonSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,113 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * ProductRepository stand-in for benchmarks, keeping products in a sorted map so that
+ * service and controller hot paths can be measured without network round trips.
+ * Only the methods used by ProductServiceImpl are implemented.
+ */
+public final class InMemoryProductRepositoryStub implements InvocationHandler {
+
+    private final ConcurrentSkipListMap<String, Product> products = new ConcurrentSkipListMap<>();
+
+    private InMemoryProductRepositoryStub() {
+    }
+
+    public static ProductRepository create() {
+        return (ProductRepository) Proxy.newProxyInstance(ProductRepository.class.getClassLoader(),
+                new Class<?>[] {ProductRepository.class}, new InMemoryProductRepositoryStub());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save" -> save((Product) args[0]);
+            case "findById" -> Optional.ofNullable(products.get((String) args[0]));
+            case "existsById" -> products.containsKey((String) args[0]);
+            case "updateFields" -> updateFields((String) args[0], (Product) args[1]);
+            case "findAndDelete" -> Optional.ofNullable(products.remove((String) args[0]));
+            case "findPage" -> limit(args[0] == null
+                    ? products.values()
+                    : products.tailMap((String) args[0], false).values(), (Limit) args[1]);
+            case "findByNamePrefix" -> page(p -> p.getNormalizedName().startsWith((String) args[0]),
+                    Comparator.comparing(Product::getNormalizedName), (Pageable) args[1]);
+            case "searchByNameText" -> page(nameContains((String) args[0]),
+                    Comparator.comparing(Product::getId), (Pageable) args[1]);
+            case "findByPriceRange" -> findByPriceRange((BigDecimal) args[0], (BigDecimal) args[1], (Pageable) args[2]);
+            case "findExtremePrice" -> products.values().stream().map(Product::getPrice)
+                    .reduce(((Sort.Direction) args[0]).isAscending() ? BigDecimal::min : BigDecimal::max);
+            case "bulkInsert" -> {
+                ((List<Product>) args[0]).forEach(this::save);
+                yield BulkWriteOutcome.success();
+            }
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryProductRepositoryStub";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Product save(Product product) {
+        if (product.getId() == null) {
+            product.setId(new ObjectId().toHexString());
+        }
+        product.setVersion(product.getVersion() == null ? 0L : product.getVersion() + 1);
+        products.put(product.getId(), product);
+        return product;
+    }
+
+    private Optional<ProductUpdate> updateFields(String id, Product changes) {
+        Product current = products.get(id);
+        if (current == null || (changes.getVersion() != null && !changes.getVersion().equals(current.getVersion()))) {
+            return Optional.empty();
+        }
+        Product updated = ProductQueries.afterFieldUpdate(current, changes);
+        products.put(id, updated);
+        return Optional.of(new ProductUpdate(current, updated));
+    }
+
+    private List<Product> findByPriceRange(BigDecimal min, BigDecimal max, Pageable pageable) {
+        Comparator<Product> byPrice = Comparator.comparing(Product::getPrice);
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+        if (priceOrder != null && priceOrder.isDescending()) {
+            byPrice = byPrice.reversed();
+        }
+        return page(p -> p.getPrice().compareTo(min) >= 0 && p.getPrice().compareTo(max) <= 0, byPrice, pageable);
+    }
+
+    private static Predicate<Product> nameContains(String text) {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        return product -> product.getNormalizedName().contains(normalized);
+    }
+
+    private static List<Product> limit(Collection<Product> source, Limit limit) {
+        return source.stream().limit(limit.max()).toList();
+    }
+
+    private List<Product> page(Predicate<Product> filter, Comparator<Product> order, Pageable pageable) {
+        return products.values().stream()
+                .filter(filter)
+                .sorted(order)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+}
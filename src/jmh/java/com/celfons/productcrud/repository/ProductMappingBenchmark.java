@@ -0,0 +1,76 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.config.MongoConversionsConfig;
+import com.celfons.productcrud.model.Product;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of products documents to Product, with ProductReadConverter ("custom") and with Spring Data's
+ * reflective entity mapping ("reflective"). Run with the GC profiler and compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    @Param({"custom", "reflective"})
+    private String mapping;
+
+    private MappingMongoConverter converter;
+    private List<Document> documents;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = "custom".equals(mapping)
+                ? MongoConversionsConfig.productConversions()
+                : new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        List<Product> products = BenchmarkFixtures.products(100);
+        documents = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            product.setId(Integer.toHexString(i));
+            product.setVersion(1L);
+            Document document = new Document();
+            converter.write(product, document);
+            documents.add(document);
+        }
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) {
+        for (Document document : documents) {
+            blackhole.consume(converter.read(Product.class, document));
+        }
+    }
+}
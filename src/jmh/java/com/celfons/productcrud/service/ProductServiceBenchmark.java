@@ -0,0 +1,101 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer operations of ProductServiceImpl against the in-memory repository stand-in,
+ * isolating business logic and cache overhead from MongoDB round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ProductServiceImpl productService;
+    private List<String> ids;
+    private Product changes;
+    private Product newProduct;
+
+    /**
+     * Re-seeded per iteration so writes from the previous iteration do not skew the catalog.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ProductRepository repository = BenchmarkFixtures.seededRepository(catalogSize);
+        productService = BenchmarkFixtures.productService(repository, cacheEnabled);
+        ids = repository.findPage(null, Limit.of(catalogSize), ProductField.ALL).stream()
+                .map(Product::getId)
+                .toList();
+        changes = BenchmarkFixtures.product(-1);
+        newProduct = BenchmarkFixtures.product(-2);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return productService.getProductById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        // Reusing one instance keeps the catalog size stable: after the first call it is saved under the same id
+        return productService.createProduct(newProduct);
+    }
+
+    @Benchmark
+    public Product updateProduct() {
+        return productService.updateProduct(randomId(), changes);
+    }
+
+    @Benchmark
+    public ProductPage getProductsPage() {
+        return productService.getProducts(randomId(), ProductService.DEFAULT_PAGE_SIZE, ProductField.ALL);
+    }
+
+    @Benchmark
+    public List<Product> searchByPrefix() {
+        return productService.searchProductsByName("lap", ProductSearchMode.PREFIX, 0, 20, ProductField.ALL);
+    }
+
+    @Benchmark
+    public List<Product> findByPriceRange() {
+        return productService.findProductsByPriceRange(new BigDecimal("100.00"), new BigDecimal("200.00"),
+                Sort.Direction.ASC, 0, 20, ProductField.ALL);
+    }
+}
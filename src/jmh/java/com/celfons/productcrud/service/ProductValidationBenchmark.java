@@ -0,0 +1,48 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.BenchmarkFixtures;
+import com.celfons.productcrud.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the product business-rule validation for valid and invalid input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductValidationBenchmark {
+
+    private Product validProduct;
+    private Product negativePriceProduct;
+
+    @Setup
+    public void setUp() {
+        validProduct = BenchmarkFixtures.product(42);
+        negativePriceProduct = new Product("Broken", "Negative price", new BigDecimal("-1.00"));
+    }
+
+    @Benchmark
+    public String validProduct() {
+        return ProductServiceImpl.validationError(validProduct);
+    }
+
+    @Benchmark
+    public String invalidProduct() {
+        return ProductServiceImpl.validationError(negativePriceProduct);
+    }
+}
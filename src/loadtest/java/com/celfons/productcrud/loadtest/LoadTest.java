@@ -0,0 +1,142 @@
+package com.celfons.productcrud.loadtest;
+
+import com.celfons.productcrud.ProductCrudApplication;
+import com.celfons.productcrud.ProductFixtures;
+import com.celfons.productcrud.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test of the product API over HTTP: starts MongoDB (a local mongod managed by flapdoodle, or the database
+ * in SPRING_DATA_MONGODB_URI), starts the application in this JVM with virtual or platform request threads,
+ * seeds the catalog, then drives the configured mix at a fixed arrival rate through a warm-up and a measured
+ * phase. Throughput, HdrHistogram latency percentiles and the p99 SLO verdict per operation are printed and
+ * written as JSON to loadtest.result.
+ *
+ * The load generator shares the machine (and this JVM) with the application, so results are comparable
+ * between runs on the same host, not absolute capacity figures.
+ */
+public class LoadTest {
+
+    private static final String DATABASE = "loadtest";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final Duration READINESS_TIMEOUT = Duration.ofMinutes(1);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String externalUri = System.getenv("SPRING_DATA_MONGODB_URI");
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod =
+                     externalUri == null ? Mongod.instance().start(Version.Main.V7_0) : null) {
+            String uri = externalUri != null ? externalUri : mongoUri(mongod.current().getServerAddress());
+            try (ConfigurableApplicationContext context = startApplication(settings, uri)) {
+                LoadTestReport report = run(settings, context);
+                System.out.println();
+                System.out.print(report.summary());
+                File result = new File(settings.result());
+                result.getAbsoluteFile().getParentFile().mkdirs();
+                ProductFixtures.objectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, report);
+                System.out.println("Results written to " + result);
+            }
+        }
+    }
+
+    private static String mongoUri(ServerAddress address) {
+        return "mongodb://" + address.getHost() + ":" + address.getPort() + "/" + DATABASE;
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings, String mongoUri) {
+        System.out.println("Starting the application with " + settings.threads() + " request threads");
+        return new SpringApplicationBuilder(ProductCrudApplication.class).run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=" + DATABASE,
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                "--logging.level.root=WARN");
+    }
+
+    private static LoadTestReport run(LoadTestSettings settings, ConfigurableApplicationContext context)
+            throws IOException, InterruptedException {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        awaitReadiness(client, URI.create("http://localhost:" + port + "/actuator/health/readiness"));
+
+        // Every run starts from the same catalog, also against an external database
+        context.getBean(MongoTemplate.class).remove(new Query(), Product.class);
+        URI base = URI.create("http://localhost:" + port + "/api/products");
+        ObjectMapper objectMapper = ProductFixtures.objectMapper();
+        List<String> ids = seed(client, base, objectMapper, settings.products());
+
+        OpenModelDriver driver = new OpenModelDriver(client,
+                new Workload(base, ids, objectMapper, settings.mix(), settings.seed()));
+        System.out.printf("Warming up at %.0f req/s for %s%n", settings.rate(), settings.warmup());
+        driver.run(settings.rate(), settings.warmup());
+        System.out.printf("Measuring at %.0f req/s for %s%n", settings.rate(), settings.duration());
+        return LoadTestReport.of(settings, driver.run(settings.rate(), settings.duration()));
+    }
+
+    private static void awaitReadiness(HttpClient client, URI readiness) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + READINESS_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(readiness).GET().build();
+        while (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Application not ready after " + READINESS_TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Creates the given number of products through POST /api/products/batch and returns their ids.
+     */
+    private static List<String> seed(HttpClient client, URI base, ObjectMapper objectMapper, int count)
+            throws IOException, InterruptedException {
+        System.out.println("Seeding " + count + " products");
+        List<String> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, count); i++) {
+                batch.add(ProductFixtures.product(i));
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+                if (item.hasNonNull("id")) {
+                    ids.add(item.get("id").asText());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No products were seeded");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,88 @@
+package com.celfons.productcrud.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load-test run, written as JSON (SNAKE_CASE) to -Dloadtest.result.
+ * Latencies are in milliseconds; an operation meets the SLO when its p99 is within slo_p99_ms.
+ */
+public record LoadTestReport(String threads, double targetRate, long warmupSeconds, long durationSeconds,
+                             int products, Map<String, Integer> mix, double sloP99Ms, String java,
+                             int cpus, long sent, double dispatchLagMs, List<OperationReport> operations,
+                             OperationReport total, boolean sloMet) {
+
+    public record OperationReport(String name, long requests, long errors, double throughput,
+                                  Latency latencyMs, boolean sloMet) {
+    }
+
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    millis((long) histogram.getMean()));
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+
+    public static LoadTestReport of(LoadTestSettings settings, OpenModelDriver.PhaseResult result) {
+        double seconds = result.elapsed().toNanos() / 1e9;
+        double sloMs = settings.sloP99().toNanos() / 1e6;
+        List<OperationReport> operations = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Operation, OpenModelDriver.OperationStats> entry : result.operations().entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            long errors = entry.getValue().errors().get();
+            if (latencies.getTotalCount() + errors == 0) {
+                continue;
+            }
+            operations.add(operation(entry.getKey().label(), latencies, errors, seconds, sloMs));
+            all.add(latencies);
+            allErrors += errors;
+        }
+        OperationReport total = operation("total", all, allErrors, seconds, sloMs);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((operation, weight) -> mix.put(operation.label(), weight));
+        return new LoadTestReport(settings.threads(), settings.rate(), settings.warmup().toSeconds(),
+                settings.duration().toSeconds(), settings.products(), mix, sloMs,
+                Runtime.version().toString(), Runtime.getRuntime().availableProcessors(), result.sent(),
+                result.dispatchLagNanos() / 1e6, operations, total,
+                operations.stream().allMatch(OperationReport::sloMet));
+    }
+
+    private static OperationReport operation(String name, Histogram latencies, long errors, double seconds,
+                                             double sloMs) {
+        Latency latency = Latency.of(latencies);
+        long requests = latencies.getTotalCount() + errors;
+        return new OperationReport(name, requests, errors, latencies.getTotalCount() / seconds, latency,
+                errors == 0 && latency.p99() <= sloMs);
+    }
+
+    /**
+     * One line per operation for the console.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-12s %10s %8s %10s %9s %9s %9s %9s %4s%n",
+                "Operation", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "SLO"));
+        List<OperationReport> rows = new ArrayList<>(operations);
+        rows.add(total);
+        for (OperationReport row : rows) {
+            summary.append(String.format("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %4s%n", row.name(),
+                    row.requests(), row.errors(), row.throughput(), row.latencyMs().p50(), row.latencyMs().p99(),
+                    row.latencyMs().p999(), row.latencyMs().max(), row.sloMet() ? "ok" : "MISS"));
+        }
+        return summary.toString();
+    }
+}
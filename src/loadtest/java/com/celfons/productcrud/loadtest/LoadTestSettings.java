@@ -0,0 +1,44 @@
+package com.celfons.productcrud.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Load-test parameters, read from the loadtest.* system properties the loadtest Maven profile passes on.
+ */
+public record LoadTestSettings(String threads, double rate, Duration warmup, Duration duration, int products,
+                               Map<Operation, Integer> mix, Duration sloP99, String result, long seed) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        String threads = System.getProperty("loadtest.threads", "virtual");
+        if (!threads.equals("virtual") && !threads.equals("platform")) {
+            throw new IllegalArgumentException("loadtest.threads must be virtual or platform, not " + threads);
+        }
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "1000"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        return new LoadTestSettings(threads, rate,
+                duration(System.getProperty("loadtest.warmup", "15s")),
+                duration(System.getProperty("loadtest.duration", "60s")),
+                Integer.parseInt(System.getProperty("loadtest.products", "10000")),
+                Workload.parseMix(System.getProperty("loadtest.mix",
+                        "get=50,list=10,search=15,price-range=10,update=10,create=5")),
+                duration(System.getProperty("loadtest.slo-p99", "100ms")),
+                System.getProperty("loadtest.result", "target/loadtest-result.json"),
+                Long.getLong("loadtest.seed", 42));
+    }
+
+    public boolean virtualThreads() {
+        return threads.equals("virtual");
+    }
+
+    /**
+     * Parses durations written like the application properties: 500ms, 15s, 2m.
+     */
+    static Duration duration(String value) {
+        return value.endsWith("ms")
+                ? Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)))
+                : Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,99 @@
+package com.celfons.productcrud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are dispatched at a fixed arrival rate, each on its own virtual thread,
+ * whether or not earlier ones have completed, so a slow server builds a backlog instead of slowing the client
+ * down. Latency is measured from the moment a request was scheduled to be sent, not from when it was sent,
+ * which keeps dispatcher or connection delays in the numbers (no coordinated omission).
+ */
+public class OpenModelDriver {
+
+    /**
+     * Latencies above this are recorded as this value.
+     */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+    private final Workload workload;
+
+    public OpenModelDriver(HttpClient client, Workload workload) {
+        this.client = client;
+        this.workload = workload;
+    }
+
+    /**
+     * Latency histogram (nanoseconds, successful responses only) and error count of one operation.
+     */
+    public record OperationStats(Histogram latencies, AtomicLong errors) {
+
+        OperationStats() {
+            this(new ConcurrentHistogram(MAX_LATENCY_NANOS, 3), new AtomicLong());
+        }
+    }
+
+    /**
+     * Outcome of one phase; dispatchLagNanos is how far the dispatcher fell behind its schedule at worst.
+     */
+    public record PhaseResult(Map<Operation, OperationStats> operations, long sent, Duration elapsed,
+                              long dispatchLagNanos) {
+    }
+
+    /**
+     * Sends requests at the given rate for the given duration and waits for all of them to complete.
+     */
+    public PhaseResult run(double ratePerSecond, Duration duration) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long total = (long) (ratePerSecond * duration.toNanos() / TimeUnit.SECONDS.toNanos(1));
+        long maxLag = 0;
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = started + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    maxLag = Math.max(maxLag, -wait);
+                }
+                Workload.Request request = workload.next();
+                executor.execute(() -> send(request, scheduled, stats.get(request.operation())));
+            }
+        }
+        return new PhaseResult(stats, total, Duration.ofNanos(System.nanoTime() - started), maxLag);
+    }
+
+    private void send(Workload.Request request, long scheduled, OperationStats stats) {
+        try {
+            HttpResponse<Void> response = client.send(request.httpRequest(), HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - scheduled;
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                stats.latencies().recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+            } else {
+                stats.errors().incrementAndGet();
+            }
+        } catch (IOException e) {
+            stats.errors().incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.celfons.productcrud.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Request types of the load-test mix, named as in -Dloadtest.mix and in the result file.
+ */
+public enum Operation {
+
+    GET("get"),
+    LIST("list"),
+    SEARCH("search"),
+    PRICE_RANGE("price-range"),
+    UPDATE("update"),
+    CREATE("create");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Operation fromLabel(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + label + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::label).toList()));
+    }
+}
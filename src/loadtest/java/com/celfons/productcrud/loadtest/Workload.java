@@ -0,0 +1,133 @@
+package com.celfons.productcrud.loadtest;
+
+import com.celfons.productcrud.ProductFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Produces the request sequence of a run: operations drawn by weight from the mix, each aimed at a random
+ * seeded product, word or price window. The sequence only depends on the seed, so two runs with the same
+ * settings send the same requests in the same order.
+ */
+public class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI base;
+    private final List<String> ids;
+    private final ObjectMapper objectMapper;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+    private long created;
+
+    public Workload(URI base, List<String> ids, ObjectMapper objectMapper, Map<Operation, Integer> mix, long seed) {
+        this.base = base;
+        this.ids = ids;
+        this.objectMapper = objectMapper;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Parses a mix such as "get=50,search=15,update=10" into operation weights.
+     */
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            if (weight > 0) {
+                weights.merge(Operation.fromLabel(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    public record Request(Operation operation, HttpRequest httpRequest) {
+    }
+
+    /**
+     * The next request of the sequence. Not thread-safe: called by the dispatching thread only.
+     */
+    public Request next() {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (draw >= cumulativeWeights[index]) {
+            index++;
+        }
+        Operation operation = operations[index];
+        return new Request(operation, request(operation).timeout(REQUEST_TIMEOUT).build());
+    }
+
+    private HttpRequest.Builder request(Operation operation) {
+        return switch (operation) {
+            case GET -> HttpRequest.newBuilder(uri("/" + randomId())).GET();
+            case LIST -> HttpRequest.newBuilder(uri("?limit=100&after=" + randomId())).GET();
+            case SEARCH -> {
+                String word = ProductFixtures.word(random);
+                yield HttpRequest.newBuilder(random.nextBoolean()
+                        ? uri("/search?match=text&size=20&name=" + encode(word))
+                        : uri("/search?match=prefix&size=20&name=" + encode(word.substring(0, 3)))).GET();
+            }
+            case PRICE_RANGE -> {
+                BigDecimal min = BigDecimal.valueOf(random.nextInt(0, 450_000), 2);
+                yield HttpRequest.newBuilder(uri("/price-range?size=20&min=" + min + "&max=" + min.add(BigDecimal.TEN)))
+                        .GET();
+            }
+            case UPDATE -> HttpRequest.newBuilder(uri("/" + randomId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(body(random.nextLong()));
+            case CREATE -> HttpRequest.newBuilder(uri(""))
+                    .header("Content-Type", "application/json")
+                    .POST(body(-(++created)));
+        };
+    }
+
+    private String randomId() {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private URI uri(String suffix) {
+        return URI.create(base + suffix);
+    }
+
+    private HttpRequest.BodyPublisher body(long seed) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ProductFixtures.product(seed));
+            return HttpRequest.BodyPublishers.ofByteArray(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
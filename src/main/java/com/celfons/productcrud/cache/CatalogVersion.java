@@ -0,0 +1,29 @@
+package com.celfons.productcrud.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the whole product catalog, bumped after every write.
+ * List responses use it as their ETag, so an unchanged catalog answers 304 without querying the database.
+ * Seeded from the start time so ETags issued before a restart are never reused.
+ * Writes made by other instances are seen through ProductChangeStreamListener when product.sync.enabled is set.
+ */
+@Component
+public class CatalogVersion {
+    
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    
+    public long current() {
+        return version.get();
+    }
+    
+    /**
+     * Marks the catalog as changed. Call after the write is applied: a list read that raced it
+     * then carries the old version and is simply re-sent on the next request.
+     */
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.celfons.productcrud.cache;
+
+import com.celfons.productcrud.model.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products by id, sitting in front of ProductRepository.
+ * Uses Caffeine (W-TinyLFU) with size and time-to-live eviction, and publishes
+ * hit/miss/eviction statistics as "cache.*" metrics tagged with cache=products.
+ * Missing products are never cached, so a later create is visible immediately.
+ */
+@Component
+public class ProductCache {
+    
+    public static final String CACHE_NAME = "products";
+    
+    private final boolean enabled;
+    private final Cache<String, Product> cache;
+    
+    @Autowired
+    public ProductCache(@Value("${product.cache.enabled:true}") boolean enabled,
+                        @Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * Returns the cached product, loading it with the given function on a miss.
+     * Concurrent misses for the same id share a single load.
+     */
+    public Optional<Product> get(String id, Function<String, Optional<Product>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    /**
+     * Returns the cached products among the ids, loading every missing one with a single call to the loader.
+     * Loaded products are returned without being cached: Caffeine's bulk load is not atomic with invalidate,
+     * so caching them could re-insert a product an update invalidated while the load was running.
+     * Ids the loader does not return are left out of the result.
+     */
+    public Map<String, Product> getAll(Collection<String> ids, Function<Set<String>, Map<String, Product>> loader) {
+        if (!enabled) {
+            return loader.apply(new LinkedHashSet<>(ids));
+        }
+        Map<String, Product> found = new HashMap<>(cache.getAllPresent(ids));
+        Set<String> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            found.putAll(loader.apply(missing));
+        }
+        return found;
+    }
+    
+    /**
+     * Removes a product so the next read goes to the database.
+     * Blocks until an in-flight load of the same id completes, so that load cannot re-insert a stale value.
+     */
+    public void invalidate(String id) {
+        if (enabled && id != null) {
+            cache.invalidate(id);
+        }
+    }
+    
+    /**
+     * Removes every cached product.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
\ No newline at end of file
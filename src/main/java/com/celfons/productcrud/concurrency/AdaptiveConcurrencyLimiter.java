@@ -0,0 +1,73 @@
+package com.celfons.productcrud.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency with AIMD (additive increase, multiplicative decrease).
+ * A request that completes within maxLatencyNanos and without failing is a success: while the limit is
+ * actually being used (in-flight at least half the limit) it grows by one. A failed or slow request is a
+ * congestion signal and shrinks the limit by backoffRatio. Requests over the limit are rejected immediately,
+ * so excess load is shed instead of queueing behind the database connection pool.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long maxLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, long maxLatencyNanos) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+    
+    /**
+     * Takes a slot if the limit allows it. Every successful acquire must be followed by exactly one release.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Frees the slot and adjusts the limit from the outcome of the request.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > maxLatencyNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                // Only grow when the limit is the constraint; an idle service would otherwise drift to maxLimit
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.celfons.productcrud.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load on /api/products before it piles up on the MongoDB connection pool.
+ * Each endpoint class (single reads, writes, bulk operations) has its own AdaptiveConcurrencyLimiter,
+ * so a burst of batch imports cannot starve reads. Requests over the limit get 503 with Retry-After.
+ * Publishes product.concurrency.limit and product.concurrency.in-flight gauges and a
+ * product.concurrency.rejected counter, all tagged with the endpoint class.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "product.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    /**
+     * Groups of endpoints with similar cost, each limited independently.
+     */
+    enum EndpointClass {
+        READ,
+        WRITE,
+        BULK
+    }
+    
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final String retryAfterSeconds;
+    
+    @Autowired
+    public ConcurrencyLimitFilter(@Value("${product.concurrency.initial-limit:50}") int initialLimit,
+                                  @Value("${product.concurrency.min-limit:10}") int minLimit,
+                                  @Value("${product.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${product.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${product.concurrency.max-latency:1s}") Duration maxLatency,
+                                  @Value("${product.concurrency.retry-after:1s}") Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            // Batches and streams are slow by nature, so for them only failures signal congestion
+            long latencyThreshold = endpointClass == EndpointClass.BULK ? Long.MAX_VALUE : maxLatency.toNanos();
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold);
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            limiters.put(endpointClass, limiter);
+            Gauge.builder("product.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("product.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("product.concurrency.rejected")
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            rejections.get(endpointClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Concurrency limit reached");
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limiter.release(System.nanoTime() - started, true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // Streaming responses keep their slot until the body has been written
+            request.getAsyncContext().addListener(new ReleasingListener(limiter, started));
+        } else {
+            limiter.release(System.nanoTime() - started, response.getStatus() >= 500);
+        }
+    }
+    
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.contains("/batch") || path.endsWith("/stream")
+                || path.endsWith("/export") || path.endsWith("/import")) {
+            return EndpointClass.BULK;
+        }
+        // A lookup is a read sent as POST only to carry its ids in the body
+        if (HttpMethod.GET.matches(request.getMethod()) || path.endsWith("/lookup")) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+    
+    /**
+     * Releases the slot of an asynchronous request once it completes, fails or times out.
+     */
+    private record ReleasingListener(AdaptiveConcurrencyLimiter limiter, long started) implements AsyncListener {
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limiter.release(System.nanoTime() - started, response.getStatus() >= 500);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows and releases the slot
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows and releases the slot
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.celfons.productcrud.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight, callers with the same key
+ * wait for it and share its result (or exception) instead of issuing their own database query.
+ * Nothing is kept once the call completes, so this is not a cache; callers that must not see results
+ * started before a write should make the write visible in the key (e.g. through CatalogVersion).
+ * Publishes "product.singleflight.calls" tagged with the operation and result=executed|coalesced.
+ */
+@Component
+public class SingleFlight {
+    
+    public static final String METRIC_NAME = "product.singleflight.calls";
+    
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public SingleFlight(@Value("${product.single-flight.enabled:true}") boolean enabled,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Runs the call, unless an identical one (same operation and key) is already running,
+     * in which case this thread blocks until it completes and returns its result.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String operation, Object key, Supplier<V> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        FlightKey flightKey = new FlightKey(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            counter(coalesced, operation, "coalesced").increment();
+            return (V) await(leader);
+        }
+        counter(executed, operation, "executed").increment();
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+    
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so followers see the same failure type
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    
+    private Counter counter(Map<String, Counter> counters, String operation, String result) {
+        return counters.computeIfAbsent(operation, key -> Counter.builder(METRIC_NAME)
+                .description("Reads executed against the database versus served by an identical in-flight read")
+                .tag("operation", key)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+    
+    private record FlightKey(String operation, Object key) {
+    }
+}
\ No newline at end of file
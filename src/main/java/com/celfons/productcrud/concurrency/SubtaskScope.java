@@ -0,0 +1,102 @@
+package com.celfons.productcrud.concurrency;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent subtasks in parallel, each on its own virtual thread with its own deadline, so a composite
+ * call takes as long as its slowest part instead of the sum of all parts. The first subtask to fail or miss its
+ * deadline cancels (interrupts) the others, and join rethrows that failure; a missed deadline surfaces as a
+ * QueryTimeoutException. Used like StructuredTaskScope.ShutdownOnFailure, which is still a preview API in
+ * Java 21: fork every subtask inside a try-with-resources block, join once, then read the results. Closing
+ * the scope cancels whatever is still running and waits for it, so no subtask outlives the caller.
+ */
+public final class SubtaskScope implements AutoCloseable {
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Subtask<?>> subtasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    
+    /**
+     * Starts a subtask that has to complete within the given timeout, counted from now.
+     * The returned supplier yields its result once join has returned.
+     */
+    public <T> Supplier<T> fork(String name, Duration timeout, Supplier<T> task) {
+        FutureTask<T> future = new FutureTask<>(() -> {
+            try {
+                return task.get();
+            } catch (RuntimeException e) {
+                fail(e);
+                throw e;
+            }
+        });
+        Subtask<T> subtask = new Subtask<>(name, timeout, System.nanoTime() + timeout.toNanos(), future);
+        subtasks.add(subtask);
+        executor.execute(future);
+        return subtask::result;
+    }
+    
+    /**
+     * Waits until every subtask has completed, or rethrows the first failure once one has failed,
+     * missed its deadline or the calling thread was interrupted.
+     */
+    public void join() {
+        for (Subtask<?> subtask : subtasks) {
+            try {
+                subtask.future().get(Math.max(subtask.deadline() - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                fail(new QueryTimeoutException("Subtask '" + subtask.name() + "' did not complete within "
+                        + subtask.timeout().toMillis() + " ms"));
+            } catch (ExecutionException e) {
+                // A RuntimeException has already been recorded by the subtask itself
+                if (e.getCause() instanceof Error error) {
+                    fail(new CancellationException("Subtask '" + subtask.name() + "' failed"));
+                    throw error;
+                }
+            } catch (CancellationException e) {
+                // Cancelled because another subtask failed first
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(new CancellationException("Interrupted while waiting for subtask '" + subtask.name() + "'"));
+            }
+            RuntimeException first = failure.get();
+            if (first != null) {
+                throw first;
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        subtasks.forEach(subtask -> subtask.future().cancel(true));
+        executor.close();
+    }
+    
+    private void fail(RuntimeException e) {
+        if (failure.compareAndSet(null, e)) {
+            subtasks.forEach(subtask -> subtask.future().cancel(true));
+        }
+    }
+    
+    private record Subtask<T>(String name, Duration timeout, long deadline, FutureTask<T> future) {
+        
+        /**
+         * Throws IllegalStateException unless the subtask completed successfully.
+         */
+        T result() {
+            return future.resultNow();
+        }
+    }
+}
\ No newline at end of file
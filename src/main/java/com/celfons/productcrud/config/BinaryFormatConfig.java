@@ -0,0 +1,47 @@
+package com.celfons.productcrud.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class for the binary wire formats, Smile and CBOR.
+ * Both reuse the application's Jackson configuration (SNAKE_CASE, modules), so the document shape is the same
+ * as in JSON, except that dates are written as numeric timestamps instead of ISO strings.
+ * Spring Boot adds HttpMessageConverter beans to Spring MVC, so every endpoint reads and writes
+ * application/x-jackson-smile and application/cbor through Accept and Content-Type negotiation.
+ */
+@Configuration
+public class BinaryFormatConfig {
+    
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    
+    /**
+     * Concatenated CBOR items (RFC 8742), used for streamed responses.
+     */
+    public static final MediaType APPLICATION_CBOR_SEQUENCE = MediaType.parseMediaType("application/cbor-seq");
+    
+    /**
+     * Copy of the application's ObjectMapper writing the format of the given factory.
+     */
+    public static ObjectMapper binaryMapper(ObjectMapper objectMapper, JsonFactory factory) {
+        return objectMapper.copyWith(factory).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(objectMapper, new SmileFactory()));
+    }
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(objectMapper, new CBORFactory()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.celfons.productcrud.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for application metrics.
+ * Enables @Timed on Spring beans; histograms and percentiles are configured per metric in application.properties.
+ * MongoDB command latency is recorded by Spring Boot's driver CommandListener as mongodb.driver.commands.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Name of the timer recorded for every service operation, tagged with class and method.
+     */
+    public static final String SERVICE_TIMER = "product.service";
+    
+    /**
+     * Name of the distribution summary of the number of products returned by list endpoints, tagged with endpoint.
+     */
+    public static final String RESULT_SIZE_SUMMARY = "product.results";
+    
+    /**
+     * Aspect that records a timer around methods and classes annotated with @Timed.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
\ No newline at end of file
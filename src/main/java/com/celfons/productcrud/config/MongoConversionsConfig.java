@@ -0,0 +1,26 @@
+package com.celfons.productcrud.config;
+
+import com.celfons.productcrud.repository.ProductReadConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Configuration class for MongoDB type conversions, shared by the blocking and reactive templates.
+ * Registers ProductReadConverter and pins the Spring Data java.time converters it mirrors.
+ */
+@Configuration
+public class MongoConversionsConfig {
+    
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return productConversions();
+    }
+    
+    public static MongoCustomConversions productConversions() {
+        return MongoCustomConversions.create(adapter -> {
+            adapter.useSpringDataJavaTimeCodecs();
+            adapter.registerConverter(new ProductReadConverter());
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.celfons.productcrud.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the MongoDB connection pool.
+ * Applies the product.mongo.pool.* properties to the driver, including a bounded wait for a free
+ * connection so that a saturated pool fails fast instead of parking requests until they time out.
+ */
+@Configuration
+public class MongoPoolConfig {
+    
+    /**
+     * Customize the pool of the MongoClient auto-configured by Spring Boot.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${product.mongo.pool.max-size:100}") int maxSize,
+            @Value("${product.mongo.pool.min-size:10}") int minSize,
+            @Value("${product.mongo.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${product.mongo.pool.max-wait-time:2s}") Duration maxWaitTime) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
\ No newline at end of file
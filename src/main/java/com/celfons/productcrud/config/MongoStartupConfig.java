@@ -0,0 +1,30 @@
+package com.celfons.productcrud.config;
+
+import com.celfons.productcrud.repository.MongoStartupOperations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+/**
+ * Configuration class for the MongoDB calls of the startup tasks.
+ * Each stack only has its own driver: the reactive auto-configuration is excluded on the servlet stack,
+ * and the blocking one under the "reactive" profile.
+ */
+@Configuration
+@Profile("!inmemory")
+public class MongoStartupConfig {
+    
+    @Bean
+    @Profile("!reactive")
+    public MongoStartupOperations blockingStartupOperations(MongoTemplate mongoTemplate) {
+        return MongoStartupOperations.of(mongoTemplate);
+    }
+    
+    @Bean
+    @Profile("reactive")
+    public MongoStartupOperations reactiveStartupOperations(ReactiveMongoTemplate mongoTemplate) {
+        return MongoStartupOperations.of(mongoTemplate);
+    }
+}
\ No newline at end of file
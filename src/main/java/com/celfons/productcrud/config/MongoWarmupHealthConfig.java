@@ -0,0 +1,106 @@
+package com.celfons.productcrud.config;
+
+import com.celfons.productcrud.repository.MongoWarmup;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.health.AdditionalHealthEndpointPath;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.HealthEndpointGroupsPostProcessor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Configuration class for the MongoDB warm-up health indicator.
+ * The indicator only gates the readiness probe: it is removed from the root /actuator/health aggregate, which
+ * Docker health checks and smoke tests poll and which would otherwise stay OUT_OF_SERVICE on a cold database.
+ * Like Spring Boot's own Mongo indicator, it is switched off by management.health.mongo.enabled=false.
+ */
+@Configuration
+@Profile("!inmemory & !reactive")
+@ConditionalOnEnabledHealthIndicator("mongo")
+public class MongoWarmupHealthConfig {
+    
+    static final String INDICATOR = "mongoWarmup";
+    static final String READINESS_GROUP = "readiness";
+    
+    /**
+     * Registered as "mongoWarmup": the health registry drops the HealthIndicator suffix of the bean name.
+     */
+    @Bean
+    public HealthIndicator mongoWarmupHealthIndicator(MongoWarmup warmup) {
+        return () -> warmup.isWarm()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("mongo", "warming up").build();
+    }
+    
+    /**
+     * Runs before Spring Boot's probe post-processor, which wraps the result and keeps the configured
+     * readiness group as is.
+     */
+    @Bean
+    @Order(0)
+    public HealthEndpointGroupsPostProcessor mongoWarmupGroupsPostProcessor() {
+        return MongoWarmupHealthConfig::readinessOnly;
+    }
+    
+    static HealthEndpointGroups readinessOnly(HealthEndpointGroups groups) {
+        Map<String, HealthEndpointGroup> named = new LinkedHashMap<>();
+        for (String name : groups.getNames()) {
+            HealthEndpointGroup group = groups.get(name);
+            named.put(name, READINESS_GROUP.equals(name)
+                    ? new MembershipGroup(group, member -> INDICATOR.equals(member) || group.isMember(member))
+                    : group);
+        }
+        HealthEndpointGroup primary = groups.getPrimary();
+        return HealthEndpointGroups.of(
+                new MembershipGroup(primary, member -> !INDICATOR.equals(member) && primary.isMember(member)), named);
+    }
+    
+    /**
+     * A health group that delegates everything but its membership.
+     */
+    private record MembershipGroup(HealthEndpointGroup delegate, Predicate<String> members)
+            implements HealthEndpointGroup {
+        
+        @Override
+        public boolean isMember(String name) {
+            return members.test(name);
+        }
+        
+        @Override
+        public boolean showComponents(SecurityContext securityContext) {
+            return delegate.showComponents(securityContext);
+        }
+        
+        @Override
+        public boolean showDetails(SecurityContext securityContext) {
+            return delegate.showDetails(securityContext);
+        }
+        
+        @Override
+        public StatusAggregator getStatusAggregator() {
+            return delegate.getStatusAggregator();
+        }
+        
+        @Override
+        public HttpCodeStatusMapper getHttpCodeStatusMapper() {
+            return delegate.getHttpCodeStatusMapper();
+        }
+        
+        @Override
+        public AdditionalHealthEndpointPath getAdditionalPath() {
+            return delegate.getAdditionalPath();
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.celfons.productcrud.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
@@ -12,8 +13,11 @@ import java.util.concurrent.Executors;
 /**
  * Configuration class to enable Java 21 Virtual Threads in Spring Boot.
  * Configures the application to use virtual threads for better scalability.
+ * Follows spring.threads.virtual.enabled: with it set to false, Tomcat's platform-thread pool and Spring Boot's
+ * default task executor are used instead, which is how the load-test suite compares the two models.
  */
 @Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
 public class VirtualThreadConfig implements WebMvcConfigurer {
     
     /**
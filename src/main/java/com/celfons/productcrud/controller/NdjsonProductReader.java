@@ -0,0 +1,152 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.ImportResult;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the products of an NDJSON import one line at a time, skipping blank lines.
+ * A line that is not a valid product is passed on as null, so the import counts it as failed at its position,
+ * and its parse error is kept with the line number for the first MAX_IMPORT_ERRORS such lines; withParseErrors
+ * then reports those instead of the generic null-product error, so a client can find the bad line.
+ * Lines longer than the maximum length are reported the same way without being buffered: no product comes close
+ * to it, and a body without line breaks must not be read into memory whole.
+ */
+final class NdjsonProductReader implements Iterator<Product> {
+    
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    
+    private static final int BUFFER_SIZE = 8 * 1024;
+    
+    private final Reader reader;
+    private final ObjectReader productReader;
+    private final int maxLineLength;
+    private final Map<Long, String> parseErrors = new HashMap<>();
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int bufferPosition;
+    private int bufferLimit;
+    private boolean lineTooLong;
+    private long lineNumber;
+    private long position;
+    private String nextLine;
+    private boolean nextTooLong;
+    
+    NdjsonProductReader(Reader reader, ObjectReader productReader) {
+        this(reader, productReader, MAX_LINE_LENGTH);
+    }
+    
+    NdjsonProductReader(Reader reader, ObjectReader productReader, int maxLineLength) {
+        this.reader = reader;
+        this.productReader = productReader;
+        this.maxLineLength = maxLineLength;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null && !nextTooLong) {
+                if (!readLine()) {
+                    return false;
+                }
+                lineNumber++;
+                if (lineTooLong) {
+                    nextTooLong = true;
+                } else if (!line.toString().isBlank()) {
+                    nextLine = line.toString();
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public Product next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long index = position++;
+        if (nextTooLong) {
+            nextTooLong = false;
+            recordParseError(index, "Line " + lineNumber + " is longer than " + maxLineLength + " characters");
+            return null;
+        }
+        String json = nextLine;
+        nextLine = null;
+        try {
+            return productReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            recordParseError(index, "Line " + lineNumber + " is not a valid product: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+    
+    private void recordParseError(long index, String error) {
+        if (parseErrors.size() < ProductService.MAX_IMPORT_ERRORS) {
+            parseErrors.put(index, error);
+        }
+    }
+    
+    /**
+     * Reads the next line, without its terminator, into the line buffer and returns false at the end of the input.
+     * Keeps at most maxLineLength characters: the rest of a longer line is skipped and lineTooLong is set.
+     */
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        lineTooLong = false;
+        boolean read = false;
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                int count = reader.read(buffer, 0, buffer.length);
+                if (count < 0) {
+                    return read;
+                }
+                bufferPosition = 0;
+                bufferLimit = count;
+            }
+            read = true;
+            int start = bufferPosition;
+            while (bufferPosition < bufferLimit && buffer[bufferPosition] != '\n') {
+                bufferPosition++;
+            }
+            int kept = Math.min(bufferPosition - start, maxLineLength - line.length());
+            lineTooLong |= kept < bufferPosition - start;
+            line.append(buffer, start, kept);
+            if (bufferPosition < bufferLimit) {
+                bufferPosition++;
+                if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                    line.setLength(line.length() - 1);
+                }
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * The import result with the error of every unparsable line replaced by its line number and parse error.
+     */
+    ImportResult withParseErrors(ImportResult result) {
+        if (parseErrors.isEmpty()) {
+            return result;
+        }
+        return new ImportResult(result.read(), result.imported(), result.failed(), result.errors().stream()
+                .map(item -> {
+                    String parseError = parseErrors.get((long) item.index());
+                    return parseError == null ? item : BatchItemResult.invalid(item.index(), null, parseError);
+                })
+                .toList());
+    }
+}
\ No newline at end of file
@@ -1,86 +1,306 @@
 package com.celfons.productcrud.controller;
 
+import com.celfons.productcrud.config.BinaryFormatConfig;
+import com.celfons.productcrud.config.MetricsConfig;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.ImportResult;
 import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductLookup;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductQueryResult;
+import com.celfons.productcrud.model.ProductSearchMode;
 import com.celfons.productcrud.service.ProductService;
+import com.celfons.productcrud.service.ProductWriteBehind;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import jakarta.validation.Valid;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
 /**
  * REST Controller for Product operations.
  * Handles HTTP requests and delegates business logic to ProductService.
  * Follows Single Responsibility Principle and Open/Closed Principle from SOLID.
+ * Servlet (virtual-thread) stack; ReactiveProductController replaces it under the "reactive" profile.
+ * Request and response bodies are JSON, Smile or CBOR, negotiated through Content-Type and Accept.
+ * With write-behind enabled, updates sent with "Prefer: respond-async" are queued and answered with 202.
+ * Rejected requests are answered by ProductExceptionHandler rather than caught here.
  */
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class ProductController {
     
+    /**
+     * Response header carrying the cursor to pass as {@code after} for the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    /**
+     * Request header through which a client opts into write-behind updates (RFC 7240).
+     */
+    public static final String PREFER_HEADER = "Prefer";
+    
+    /**
+     * Response header confirming that the respond-async preference was honoured.
+     */
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    
+    private static final String RESPOND_ASYNC = "respond-async";
+    
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    
     private final ProductService productService;
+    private final ProductWriteBehind writeBehind;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final DistributionSummary listResults;
+    private final DistributionSummary streamResults;
+    private final DistributionSummary exportResults;
+    private final DistributionSummary lookupResults;
+    private final DistributionSummary searchResults;
+    private final DistributionSummary priceRangeResults;
+    private final DistributionSummary queryResults;
     
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, Optional<ProductWriteBehind> writeBehind,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.productService = productService;
+        this.writeBehind = writeBehind.orElse(null);
+        this.objectMapper = objectMapper;
+        this.smileMapper = BinaryFormatConfig.binaryMapper(objectMapper, new SmileFactory());
+        this.cborMapper = BinaryFormatConfig.binaryMapper(objectMapper, new CBORFactory());
+        this.listResults = resultSizeSummary("list", meterRegistry);
+        this.streamResults = resultSizeSummary("stream", meterRegistry);
+        this.exportResults = resultSizeSummary("export", meterRegistry);
+        this.lookupResults = resultSizeSummary("lookup", meterRegistry);
+        this.searchResults = resultSizeSummary("search", meterRegistry);
+        this.priceRangeResults = resultSizeSummary("price-range", meterRegistry);
+        this.queryResults = resultSizeSummary("query", meterRegistry);
     }
     
     /**
      * Create a new product.
      * POST /api/products
+     * The body is checked once, against the service's business rules; bean validation would repeat the same
+     * rules at the cost of a MethodArgumentNotValidException and its binding result per rejected request.
      */
     @PostMapping
-    public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
+    public ResponseEntity<Product> createProduct(@RequestBody Product product) {
+        Product createdProduct = productService.createProduct(product);
+        return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
+    }
+    
+    /**
+     * Get a page of products using keyset pagination on the id.
+     * GET /api/products?limit={limit}&after={cursor}&fields={id,name,price}
+     * The cursor for the next page is returned in the X-Next-Cursor header.
+     * Answers 304 without querying the database while the catalog ETag is unchanged.
+     */
+    @GetMapping
+    public ResponseEntity<List<?>> getAllProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (notModified(request, catalogETag(), -1)) {
+            return null;
+        }
+        Set<ProductField> selected = ProductField.parse(fields);
+        ProductPage page = productService.getProducts(after, limit, selected);
+        listResults.record(page.items().size());
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(sparse(page.items(), selected), headers, HttpStatus.OK);
+    }
+    
+    /**
+     * Stream all products straight from a database cursor, as NDJSON (default), a chunked JSON array,
+     * or a sequence of Smile or CBOR documents.
+     * GET /api/products/stream?format={ndjson|json|smile|cbor}
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        StreamFormat streamFormat;
         try {
-            Product createdProduct = productService.createProduct(product);
-            return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
+            streamFormat = StreamFormat.valueOf(format.toUpperCase(Locale.ROOT));
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+        StreamingResponseBody body = out -> {
+            try (Stream<Product> products = productService.streamAllProducts()) {
+                streamResults.record(writeProducts(products.iterator(), out, streamFormat));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(streamFormat.mediaType)
+                .body(body);
     }
     
     /**
-     * Get all products.
-     * GET /api/products
+     * Export the whole catalog as gzip-compressed NDJSON, one product per line, straight from a database cursor.
+     * GET /api/products/export
+     * Written on the request thread rather than asynchronously, so a multi-GB export is not cut short
+     * by the async request timeout; memory use stays constant whatever the catalog size.
      */
-    @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    @GetMapping("/export")
+    public void exportProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_GZIP.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("products.ndjson.gz").build().toString());
+        try (Stream<Product> products = productService.streamAllProducts()) {
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+            exportResults.record(writeProducts(products.iterator(), out, StreamFormat.NDJSON));
+        }
+    }
+    
+    /**
+     * Import products from an NDJSON body, plain or gzip-compressed (as produced by the export).
+     * POST /api/products/import
+     * The body is parsed one line at a time and inserted in bulk writes, so memory use stays constant.
+     * Ids and timestamps are kept; lines that are not valid products, and ids that already exist, are counted
+     * as failed and the first of them are reported by position, lines that do not parse with their line number.
+     * Progress is logged while the import runs.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResult> importProducts(InputStream body) throws IOException {
+        ObjectReader productReader = objectMapper.readerFor(Product.class);
+        try (Reader reader = new InputStreamReader(decompressed(body), StandardCharsets.UTF_8)) {
+            NdjsonProductReader products = new NdjsonProductReader(reader, productReader);
+            return new ResponseEntity<>(products.withParseErrors(productService.importProducts(products)),
+                    HttpStatus.OK);
+        } catch (ZipException | EOFException e) {
+            // Corrupt or truncated gzip body; products before the damage have been imported
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof ZipException || e.getCause() instanceof EOFException) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Get catalog statistics: count, price sum, min/max/average price and a price histogram.
+     * GET /api/products/stats
+     * Served from an in-memory summary maintained on every write, without querying the database.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CatalogStats> getCatalogStats() {
+        return new ResponseEntity<>(productService.getCatalogStats(), HttpStatus.OK);
     }
     
     /**
      * Get product by ID.
      * GET /api/products/{id}
+     * The ETag follows the product version and Last-Modified its updatedAt; a matching
+     * If-None-Match or If-Modified-Since gets 304 without serializing the product.
+     * A queued write-behind update is returned as is, without validators, until it has been written.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable String id) {
-        try {
-            Optional<Product> product = productService.getProductById(id);
-            return product.map(p -> new ResponseEntity<>(p, HttpStatus.OK))
-                         .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
-        } catch (IllegalArgumentException e) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Product> getProductById(@PathVariable String id, WebRequest request) {
+        if (writeBehind != null) {
+            Optional<Product> pending = writeBehind.pending(id);
+            if (pending.isPresent()) {
+                return new ResponseEntity<>(pending.get(), HttpStatus.OK);
+            }
+        }
+        Optional<Product> product = productService.getProductById(id);
+        if (product.isEmpty()) {
+            return ProductExceptionHandler.notFound();
         }
+        if (notModified(request, productETag(product.get()), lastModified(product.get()))) {
+            return null;
+        }
+        return new ResponseEntity<>(product.get(), HttpStatus.OK);
+    }
+    
+    /**
+     * Get many products by id in one request, e.g. to resolve the items of a cart.
+     * POST /api/products/lookup with a JSON array of up to 1000 ids.
+     * Products come back in the requested order and missing ids are listed separately; cached products
+     * are served from memory and the rest are read with a single query.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductLookup> lookupProducts(@RequestBody List<String> ids) {
+        ProductLookup lookup = productService.lookupProducts(ids);
+        if (writeBehind != null) {
+            // Queued write-behind updates win, as they do for GET /{id}
+            lookup = new ProductLookup(lookup.items().stream()
+                    .map(product -> writeBehind.pending(product.getId()).orElse(product))
+                    .toList(), lookup.missing());
+        }
+        lookupResults.record(lookup.items().size());
+        return new ResponseEntity<>(lookup, HttpStatus.OK);
     }
     
     /**
      * Update an existing product.
      * PUT /api/products/{id}
+     * Answers 404 when the product does not exist and 400 when the body breaks a business rule.
+     * Send the product's current version to get 409 Conflict instead of overwriting a concurrent change.
+     * With write-behind enabled, "Prefer: respond-async" on an unversioned update queues it and answers
+     * 202 Accepted (503 while the queue is full); the update is written with the next bulk flush.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable String id, 
-                                               @Valid @RequestBody Product product) {
-        try {
-            Product updatedProduct = productService.updateProduct(id, product);
-            return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
-        } catch (IllegalArgumentException e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                                               @RequestBody Product product,
+                                               @RequestHeader(name = PREFER_HEADER, required = false) String prefer) {
+        if (writeBehind != null && product.getVersion() == null && prefersAsync(prefer)) {
+            return submitUpdate(id, product);
         }
+        discardPending(List.of(id));
+        Product updatedProduct = productService.updateProduct(id, product);
+        return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
     }
     
     /**
@@ -89,37 +309,269 @@ public class ProductController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable String id) {
-        try {
-            productService.deleteProduct(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } catch (IllegalArgumentException e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        discardPending(List.of(id));
+        productService.deleteProduct(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+    
+    /**
+     * Create many products in one request.
+     * POST /api/products/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createProducts(@RequestBody List<Product> products) {
+        return new ResponseEntity<>(productService.createProducts(products), HttpStatus.OK);
+    }
+    
+    /**
+     * Update many products in one request; each product must carry its id.
+     * PUT /api/products/batch
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateProducts(@RequestBody List<Product> products) {
+        if (products != null) {
+            discardPending(products.stream().filter(Objects::nonNull).map(Product::getId).toList());
+        }
+        return new ResponseEntity<>(productService.updateProducts(products), HttpStatus.OK);
+    }
+    
+    /**
+     * Delete many products by id in one request.
+     * POST /api/products/batch/delete
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchResult> deleteProducts(@RequestBody List<String> ids) {
+        if (ids != null) {
+            discardPending(ids);
         }
+        return new ResponseEntity<>(productService.deleteProducts(ids), HttpStatus.OK);
     }
     
     /**
      * Search products by name.
-     * GET /api/products/search?name={name}
+     * GET /api/products/search?name={name}&match={text|prefix}&page={page}&size={size}&fields={id,name,price}
+     * "text" ranks whole-word matches by relevance; "prefix" matches the start of the name (autocomplete).
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam(required = false) String name) {
-        List<Product> products = productService.searchProductsByName(name);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<?>> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "text") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (notModified(request, catalogETag(), -1)) {
+            return null;
+        }
+        Set<ProductField> selected = ProductField.parse(fields);
+        List<Product> products = productService.searchProductsByName(
+                name, ProductSearchMode.from(match), page, size, selected);
+        searchResults.record(products.size());
+        return new ResponseEntity<>(sparse(products, selected), HttpStatus.OK);
     }
     
     /**
      * Find products by price range.
-     * GET /api/products/price-range?min={min}&max={max}
+     * GET /api/products/price-range?min={min}&max={max}&sort={asc|desc}&page={page}&size={size}&fields={id,name,price}
      */
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> findProductsByPriceRange(
+    public ResponseEntity<List<?>> findProductsByPriceRange(
             @RequestParam BigDecimal min, 
-            @RequestParam BigDecimal max) {
+            @RequestParam BigDecimal max,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (notModified(request, catalogETag(), -1)) {
+            return null;
+        }
+        Sort.Direction direction = Sort.Direction.fromString(sort);
+        Set<ProductField> selected = ProductField.parse(fields);
+        List<Product> products = productService.findProductsByPriceRange(
+                min, max, direction, page, size, selected);
+        priceRangeResults.record(products.size());
+        return new ResponseEntity<>(sparse(products, selected), HttpStatus.OK);
+    }
+    
+    /**
+     * Find products by name within a price range, with the total number of matches and price stats of all
+     * name matches, in one call: the sub-queries run in parallel, each within its own deadline.
+     * GET /api/products/query?name={name}&match={text|prefix}&min={min}&max={max}&page={page}&size={size}
+     * Answers 504 Gateway Timeout when a sub-query misses its deadline.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<QueryResponse> queryProducts(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "text") String match,
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (notModified(request, catalogETag(), -1)) {
+            return null;
+        }
+        Set<ProductField> selected = ProductField.parse(fields);
+        ProductQueryResult result = productService.queryProducts(
+                name, ProductSearchMode.from(match), min, max, page, size, selected);
+        queryResults.record(result.items().size());
+        return new ResponseEntity<>(new QueryResponse(sparse(result.items(), selected), result.total(),
+                result.nameMatchStats()), HttpStatus.OK);
+    }
+    
+    private ResponseEntity<Product> submitUpdate(String id, Product product) {
         try {
-            List<Product> products = productService.findProductsByPriceRange(min, max);
-            return new ResponseEntity<>(products, HttpStatus.OK);
-        } catch (IllegalArgumentException e) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            Product accepted = writeBehind.submit(id, product);
+            return ResponseEntity.accepted()
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(accepted);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    /**
+     * Drops queued write-behind updates of products about to be written synchronously,
+     * so a later flush cannot overwrite the newer write.
+     */
+    private void discardPending(List<String> ids) {
+        if (writeBehind != null) {
+            ids.stream().filter(Objects::nonNull).forEach(writeBehind::discard);
+        }
+    }
+    
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        // Preferences are comma-separated and may carry parameters after a semicolon
+        for (String preference : prefer.split(",")) {
+            String token = preference.split(";", 2)[0].trim();
+            if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Writes products one at a time so memory use does not depend on the collection size.
+     * Returns the number of products written.
+     */
+    private int writeProducts(Iterator<Product> products, OutputStream out, StreamFormat format) throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case NDJSON, JSON -> objectMapper;
+            case SMILE -> smileMapper;
+            case CBOR -> cborMapper;
+        };
+        boolean jsonArray = format == StreamFormat.JSON;
+        JsonGenerator generator = mapper.createGenerator(new BufferedOutputStream(out));
+        // Separate NDJSON lines ourselves instead of using the default root value separator;
+        // Smile and CBOR documents are self-delimiting and simply follow each other
+        generator.setRootValueSeparator(null);
+        if (jsonArray) {
+            generator.writeStartArray();
+        }
+        int written = 0;
+        while (products.hasNext()) {
+            generator.writeObject(products.next());
+            if (format == StreamFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        if (jsonArray) {
+            generator.writeEndArray();
+        }
+        generator.close();
+        return written;
+    }
+    
+    /**
+     * The body itself, or a decompressing view of it when it starts with the gzip magic number.
+     */
+    private static InputStream decompressed(InputStream body) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(body, GZIP_BUFFER_SIZE);
+        buffered.mark(2);
+        boolean gzip = buffered.read() == 0x1f && buffered.read() == 0x8b;
+        buffered.reset();
+        return gzip ? new GZIPInputStream(buffered, GZIP_BUFFER_SIZE) : buffered;
+    }
+    
+    /**
+     * Full products when every field is selected, otherwise maps holding only the selected fields,
+     * so unselected fields are not serialized at all (not even as null).
+     */
+    private static List<?> sparse(List<Product> products, Set<ProductField> fields) {
+        if (fields.containsAll(ProductField.ALL)) {
+            return products;
+        }
+        return products.stream().map(product -> ProductField.select(product, fields)).toList();
+    }
+    
+    /**
+     * Checks the request's validators. JSON, Smile and CBOR responses share them, so Vary: Accept is set first,
+     * on the 304 as well, to keep caches from answering one format with another.
+     */
+    private static boolean notModified(WebRequest request, String eTag, long lastModified) {
+        HttpServletResponse response = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(eTag, lastModified);
+    }
+    
+    /**
+     * Weak ETag of list responses. Read before querying, so a write racing the query can only make it older.
+     */
+    private String catalogETag() {
+        return "W/\"catalog-" + productService.getCatalogVersion() + "\"";
+    }
+    
+    /**
+     * Weak, like the catalog ETag: the JSON, Smile and CBOR bodies of one version are equivalent, not identical.
+     */
+    private static String productETag(Product product) {
+        return "W/\"" + product.getId() + "-" + product.getVersion() + "\"";
+    }
+    
+    private static long lastModified(Product product) {
+        return product.getUpdatedAt() == null
+                ? -1
+                : product.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static DistributionSummary resultSizeSummary(String endpoint, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder(MetricsConfig.RESULT_SIZE_SUMMARY)
+                .description("Number of products returned per request")
+                .baseUnit("products")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Body of the composite query: ProductQueryResult with the items reduced to the selected fields.
+     */
+    public record QueryResponse(List<?> items, long total, CatalogStats nameMatchStats) {
+    }
+    
+    /**
+     * Encodings offered by the stream endpoint.
+     */
+    private enum StreamFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(BinaryFormatConfig.APPLICATION_SMILE),
+        CBOR(BinaryFormatConfig.APPLICATION_CBOR_SEQUENCE);
+        
+        private final MediaType mediaType;
+        
+        StreamFormat(MediaType mediaType) {
+            this.mediaType = mediaType;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.service.ProductNotFoundException;
+import com.celfons.productcrud.service.ProductValidationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the exceptions ProductController lets through to status codes, in one place instead of per endpoint:
+ * a missing product is 404, invalid input (ProductValidationException or IllegalArgumentException) 400,
+ * a version conflict 409 and a sub-query past its deadline 504.
+ * The services throw preallocated, stackless exceptions for invalid input and missing products, and every
+ * answer here is a shared, bodiless ResponseEntity, so a storm of bad requests allocates next to nothing.
+ */
+@RestControllerAdvice(assignableTypes = ProductController.class)
+@Profile("!reactive")
+public class ProductExceptionHandler {
+    
+    private static final ResponseEntity<?> BAD_REQUEST = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    private static final ResponseEntity<?> NOT_FOUND = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    private static final ResponseEntity<?> CONFLICT = new ResponseEntity<>(HttpStatus.CONFLICT);
+    private static final ResponseEntity<?> GATEWAY_TIMEOUT = new ResponseEntity<>(HttpStatus.GATEWAY_TIMEOUT);
+    
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(ProductNotFoundException e) {
+        return NOT_FOUND;
+    }
+    
+    @ExceptionHandler({ProductValidationException.class, IllegalArgumentException.class})
+    public ResponseEntity<?> handleInvalid(RuntimeException e) {
+        return BAD_REQUEST;
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleConflict(OptimisticLockingFailureException e) {
+        return CONFLICT;
+    }
+    
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<?> handleQueryTimeout(QueryTimeoutException e) {
+        return GATEWAY_TIMEOUT;
+    }
+    
+    /**
+     * The shared 404 answer, for endpoints that find nothing without an exception being thrown.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ResponseEntity<T> notFound() {
+        return (ResponseEntity<T>) NOT_FOUND;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.service.ProductNotFoundException;
+import com.celfons.productcrud.service.ProductService;
+import com.celfons.productcrud.service.ProductValidationException;
+import com.celfons.productcrud.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Reactive REST Controller for Product operations, active with the "reactive" profile.
+ * Exposes the same /api/products contract as ProductController on WebFlux and the reactive MongoDB driver.
+ * List endpoints return Flux, so clients asking for application/x-ndjson receive products as they are read.
+ * Batch endpoints are only available on the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveProductController {
+    
+    private final ReactiveProductService productService;
+    
+    @Autowired
+    public ReactiveProductController(ReactiveProductService productService) {
+        this.productService = productService;
+    }
+    
+    /**
+     * Create a new product.
+     * POST /api/products
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Product>> createProduct(@Valid @RequestBody Product product) {
+        return productService.createProduct(product)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED))
+                .onErrorResume(ReactiveProductController::isInvalid,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST)));
+    }
+    
+    /**
+     * Get a page of products using keyset pagination on the id.
+     * GET /api/products?limit={limit}&after={cursor}
+     * The cursor for the next page is returned in the X-Next-Cursor header.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<Product>>> getAllProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return productService.getProducts(after, limit)
+                .collectList()
+                .map(items -> {
+                    ProductPage page = ProductPage.of(items, Math.min(limit, ProductService.MAX_PAGE_SIZE));
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.nextCursor() != null) {
+                        response.header(ProductController.NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                    return response.body(page.items());
+                })
+                .onErrorResume(ReactiveProductController::isInvalid,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST)));
+    }
+    
+    /**
+     * Stream all products straight from a database cursor, as NDJSON (default) or a JSON array.
+     * GET /api/products/stream?format={ndjson|json}
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<Flux<Product>> streamAllProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean jsonArray = "json".equalsIgnoreCase(format);
+        if (!jsonArray && !"ndjson".equalsIgnoreCase(format)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(productService.streamAllProducts());
+    }
+    
+    /**
+     * Get product by ID.
+     * GET /api/products/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable String id) {
+        return productService.getProductById(id)
+                .map(product -> new ResponseEntity<>(product, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND))
+                .onErrorResume(ReactiveProductController::isInvalid,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST)));
+    }
+    
+    /**
+     * Update an existing product.
+     * PUT /api/products/{id}
+     * Send the product's current version to get 409 Conflict instead of overwriting a concurrent change.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Product>> updateProduct(@PathVariable String id,
+                                                       @Valid @RequestBody Product product) {
+        return productService.updateProduct(id, product)
+                .map(updated -> new ResponseEntity<>(updated, HttpStatus.OK))
+                .onErrorResume(ProductNotFoundException.class,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)))
+                .onErrorResume(ReactiveProductController::isInvalid,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST)))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.CONFLICT)));
+    }
+    
+    /**
+     * Delete a product.
+     * DELETE /api/products/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable String id) {
+        return productService.deleteProduct(id)
+                .then(Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT)))
+                .onErrorResume(ProductNotFoundException.class,
+                        e -> Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+    
+    /**
+     * Search products by name.
+     * GET /api/products/search?name={name}&match={text|prefix}&page={page}&size={size}
+     */
+    @GetMapping("/search")
+    public Flux<Product> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "text") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return Flux.defer(() -> productService.searchProductsByName(name, ProductSearchMode.from(match), page, size));
+    }
+    
+    /**
+     * Find products by price range.
+     * GET /api/products/price-range?min={min}&max={max}&sort={asc|desc}&page={page}&size={size}
+     */
+    @GetMapping("/price-range")
+    public Flux<Product> findProductsByPriceRange(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return Flux.defer(() -> productService.findProductsByPriceRange(
+                min, max, Sort.Direction.fromString(sort), page, size));
+    }
+    
+    /**
+     * Invalid parameters on the Flux endpoints fail before the first element is written, so they still map to 400.
+     */
+    @ExceptionHandler({ProductValidationException.class, IllegalArgumentException.class})
+    public ResponseEntity<Void> handleInvalid(RuntimeException e) {
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    
+    private static boolean isInvalid(Throwable e) {
+        return e instanceof ProductValidationException || e instanceof IllegalArgumentException;
+    }
+}
\ No newline at end of file
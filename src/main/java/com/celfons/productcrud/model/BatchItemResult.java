@@ -0,0 +1,29 @@
+package com.celfons.productcrud.model;
+
+/**
+ * Result for one item of a batch request, identified by its position in the request body.
+ */
+public record BatchItemResult(int index, String id, BatchItemStatus status, String error) {
+    
+    public static BatchItemResult succeeded(int index, String id, BatchItemStatus status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+    
+    public static BatchItemResult invalid(int index, String id, String error) {
+        return new BatchItemResult(index, id, BatchItemStatus.INVALID, error);
+    }
+    
+    public static BatchItemResult notFound(int index, String id) {
+        return new BatchItemResult(index, id, BatchItemStatus.NOT_FOUND, "Product not found");
+    }
+    
+    public static BatchItemResult failed(int index, String id, String error) {
+        return new BatchItemResult(index, id, BatchItemStatus.FAILED, error);
+    }
+    
+    public boolean isSuccess() {
+        return status == BatchItemStatus.CREATED
+                || status == BatchItemStatus.UPDATED
+                || status == BatchItemStatus.DELETED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.celfons.productcrud.model;
+
+/**
+ * Outcome of a single item within a batch create, update or delete.
+ */
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    FAILED
+}
\ No newline at end of file
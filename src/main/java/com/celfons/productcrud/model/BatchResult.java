@@ -0,0 +1,15 @@
+package com.celfons.productcrud.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-item results of a batch request, in request order, with success and failure totals.
+ */
+public record BatchResult(int succeeded, int failed, List<BatchItemResult> items) {
+    
+    public static BatchResult of(BatchItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(BatchItemResult::isSuccess).count();
+        return new BatchResult(succeeded, results.length - succeeded, List.of(results));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.celfons.productcrud.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Aggregate figures over the whole catalog: product count, price sum, minimum, maximum and average,
+ * and a histogram of prices. Prices are null when the catalog is empty.
+ */
+public record CatalogStats(long count, BigDecimal priceSum, BigDecimal minPrice, BigDecimal maxPrice,
+                           BigDecimal averagePrice, List<PriceBucket> priceHistogram) {
+    
+    /**
+     * Number of products priced from {@code from} (inclusive) up to {@code to} (exclusive, null for no upper bound).
+     */
+    public record PriceBucket(BigDecimal from, BigDecimal to, long count) {
+    }
+}
\ No newline at end of file
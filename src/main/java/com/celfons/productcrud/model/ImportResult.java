@@ -0,0 +1,10 @@
+package com.celfons.productcrud.model;
+
+import java.util.List;
+
+/**
+ * Totals of an import, with the first failed items. Each error is identified by the position
+ * of the product in the imported stream, so a failed line can be found without keeping every result.
+ */
+public record ImportResult(long read, long imported, long failed, List<BatchItemResult> errors) {
+}
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.celfons.productcrud.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,12 +14,18 @@ import jakarta.validation.constraints.PositiveOrZero;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Product entity representing a product in the MongoDB collection.
  * Follows Clean Code principles with proper validation and immutability.
+ * Constructors and setters never read the clock: the services stamp createdAt and updatedAt on writes,
+ * so materializing a product does not allocate timestamps that are immediately overwritten.
+ * Reads from MongoDB go through ProductReadConverter and JSON output through ProductJsonSerializer,
+ * both of which bypass reflection.
  */
 @Document(collection = "products")
+@JsonSerialize(using = ProductJsonSerializer.class)
 public class Product {
     
     @Id
@@ -23,30 +34,51 @@ public class Product {
     @NotBlank(message = "Product name cannot be blank")
     private String name;
     
+    // Trimmed, lowercase copy of the name backing indexed prefix search; never exposed through the API
+    @JsonIgnore
+    private String normalizedName;
+    
     @NotBlank(message = "Product description cannot be blank")
     private String description;
     
     @NotNull(message = "Product price cannot be null")
     @PositiveOrZero(message = "Product price must be positive or zero")
+    // Stored as Decimal128 (not the default string) so range queries compare numerically and can use an index
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal price;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
-    // Default constructor for MongoDB
+    // Optimistic locking: incremented on every write, checked when a client sends it back
+    @Version
+    private Long version;
+    
+    // Default constructor for Jackson
     public Product() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
     }
     
     // Constructor for creating new products
     public Product(String name, String description, BigDecimal price) {
-        this();
         this.name = name;
+        this.normalizedName = normalizeName(name);
         this.description = description;
         this.price = price;
     }
     
+    // Constructor for stored documents: every field as read, without normalizing the name again
+    public Product(String id, String name, String normalizedName, String description, BigDecimal price,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.name = name;
+        this.normalizedName = normalizedName;
+        this.description = description;
+        this.price = price;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     // Getters and setters
     public String getId() {
         return id;
@@ -62,7 +94,19 @@ public class Product {
     
     public void setName(String name) {
         this.name = name;
-        this.updatedAt = LocalDateTime.now();
+        this.normalizedName = normalizeName(name);
+    }
+    
+    @JsonIgnore
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+    
+    /**
+     * Normalizes a product name (or a search prefix) the same way it is stored in normalizedName.
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
     }
     
     public String getDescription() {
@@ -71,7 +115,6 @@ public class Product {
     
     public void setDescription(String description) {
         this.description = description;
-        this.updatedAt = LocalDateTime.now();
     }
     
     public BigDecimal getPrice() {
@@ -80,7 +123,6 @@ public class Product {
     
     public void setPrice(BigDecimal price) {
         this.price = price;
-        this.updatedAt = LocalDateTime.now();
     }
     
     public LocalDateTime getCreatedAt() {
@@ -99,6 +141,14 @@ public class Product {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "Product{" +
@@ -108,6 +158,7 @@ public class Product {
                 ", price=" + price +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
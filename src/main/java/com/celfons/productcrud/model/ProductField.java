@@ -0,0 +1,83 @@
+package com.celfons.productcrud.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Product fields a client can select with the {@code fields} request parameter.
+ * Each field knows its name in the JSON API (snake_case) and in the MongoDB document,
+ * so a selection can be pushed down as a query projection and used to write sparse responses.
+ */
+public enum ProductField {
+    ID("id", "id", Product::getId),
+    NAME("name", "name", Product::getName),
+    DESCRIPTION("description", "description", Product::getDescription),
+    PRICE("price", "price", Product::getPrice),
+    CREATED_AT("created_at", "createdAt", Product::getCreatedAt),
+    UPDATED_AT("updated_at", "updatedAt", Product::getUpdatedAt),
+    VERSION("version", "version", Product::getVersion);
+    
+    /**
+     * Every field: the full product.
+     */
+    public static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+    
+    private final String jsonName;
+    private final String property;
+    private final Function<Product, Object> accessor;
+    
+    ProductField(String jsonName, String property, Function<Product, Object> accessor) {
+        this.jsonName = jsonName;
+        this.property = property;
+        this.accessor = accessor;
+    }
+    
+    public String getJsonName() {
+        return jsonName;
+    }
+    
+    /**
+     * Property name on Product, as used in MongoDB queries and projections.
+     */
+    public String getProperty() {
+        return property;
+    }
+    
+    /**
+     * Parses a comma-separated list of JSON field names. A missing or blank list selects every field,
+     * and the id is always included so that results stay addressable and pageable.
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<ProductField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                selected.add(Arrays.stream(values())
+                        .filter(field -> field.jsonName.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown product field: " + name.trim())));
+            }
+        }
+        return selected.size() == values().length ? ALL : Collections.unmodifiableSet(selected);
+    }
+    
+    /**
+     * The selected fields of a product keyed by JSON name, in declaration order, for a sparse response.
+     */
+    public static Map<String, Object> select(Product product, Set<ProductField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            values.put(field.jsonName, field.accessor.apply(product));
+        }
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.celfons.productcrud.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a Product field by field, with no reflective getter calls.
+ * Property names are translated once per ObjectMapper with its naming strategy (SNAKE_CASE in the application),
+ * and dates go through the mapper's own LocalDateTime serializer, so the output matches the bean serializer:
+ * same names, same order, nulls included, ISO strings or timestamps as configured.
+ */
+public class ProductJsonSerializer extends StdSerializer<Product> implements ContextualSerializer {
+    
+    private static final String[] PROPERTIES = {
+            "id", "name", "description", "price", "createdAt", "updatedAt", "version"
+    };
+    
+    private final SerializedString[] names;
+    private final JsonSerializer<Object> dateSerializer;
+    
+    public ProductJsonSerializer() {
+        this(null, null);
+    }
+    
+    private ProductJsonSerializer(SerializedString[] names, JsonSerializer<Object> dateSerializer) {
+        super(Product.class);
+        this.names = names;
+        this.dateSerializer = dateSerializer;
+    }
+    
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        SerializationConfig config = provider.getConfig();
+        PropertyNamingStrategy strategy = config.getPropertyNamingStrategy();
+        SerializedString[] translated = new SerializedString[PROPERTIES.length];
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            String name = strategy == null ? PROPERTIES[i] : strategy.nameForField(config, null, PROPERTIES[i]);
+            translated[i] = new SerializedString(name);
+        }
+        return new ProductJsonSerializer(translated, provider.findValueSerializer(LocalDateTime.class));
+    }
+    
+    @Override
+    public void serialize(Product product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (names == null) {
+            // Only reached when a caller bypasses contextualization
+            ((ProductJsonSerializer) createContextual(provider, null)).serialize(product, generator, provider);
+            return;
+        }
+        generator.writeStartObject(product);
+        writeString(generator, names[0], product.getId());
+        writeString(generator, names[1], product.getName());
+        writeString(generator, names[2], product.getDescription());
+        generator.writeFieldName(names[3]);
+        if (product.getPrice() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(product.getPrice());
+        }
+        writeDate(generator, provider, names[4], product.getCreatedAt());
+        writeDate(generator, provider, names[5], product.getUpdatedAt());
+        generator.writeFieldName(names[6]);
+        if (product.getVersion() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(product.getVersion());
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeString(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+    
+    private void writeDate(JsonGenerator generator, SerializerProvider provider, SerializedString name,
+                           LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            dateSerializer.serialize(value, generator, provider);
+        }
+    }
+}
\ No newline at end of file
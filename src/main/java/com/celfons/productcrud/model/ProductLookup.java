@@ -0,0 +1,29 @@
+package com.celfons.productcrud.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Products resolved by a multi-get, in the order their ids were requested, and the ids that were not found.
+ */
+public record ProductLookup(List<Product> items, List<String> missing) {
+    
+    /**
+     * Orders the found products like the requested ids and lists the ids without a product.
+     */
+    public static ProductLookup of(Collection<String> ids, Map<String, Product> found) {
+        List<Product> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Product product = found.get(id);
+            if (product != null) {
+                items.add(product);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ProductLookup(items, missing);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.celfons.productcrud.model;
+
+import java.util.List;
+
+/**
+ * A page of products obtained through keyset pagination on the product id.
+ * The next cursor is the id of the last item, or null when there are no more pages.
+ */
+public record ProductPage(List<Product> items, String nextCursor) {
+    
+    /**
+     * Builds a page, deriving the next cursor from the last item when the page is full.
+     */
+    public static ProductPage of(List<Product> items, int limit) {
+        String nextCursor = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new ProductPage(items, nextCursor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.celfons.productcrud.model;
+
+import java.util.List;
+
+/**
+ * Result of a composite query: one page of the products matching both the name search and the price range,
+ * how many match in total, and price stats of every name match regardless of the price range, which is
+ * what a client shows to let the user narrow the range.
+ */
+public record ProductQueryResult(List<Product> items, long total, CatalogStats nameMatchStats) {
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.celfons.productcrud.model;
+
+import java.util.Locale;
+
+/**
+ * How a name search is matched against the catalog.
+ * PREFIX uses the ascending index on the normalized name; TEXT uses the text index and ranks by relevance.
+ */
+public enum ProductSearchMode {
+    PREFIX,
+    TEXT;
+    
+    /**
+     * Parses the mode from a request parameter, ignoring case.
+     */
+    public static ProductSearchMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Unknown search mode: " + value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.celfons.productcrud.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of one batch write. Positions refer to the list submitted to the repository:
+ * {@code missing} holds documents that did not exist, {@code failures} holds write errors by position,
+ * and {@code previousPrices} holds the price each updated or deleted document had just before the write.
+ */
+public record BulkWriteOutcome(Set<Integer> missing, Map<Integer, String> failures,
+                               Map<Integer, BigDecimal> previousPrices) {
+    
+    public BulkWriteOutcome(Set<Integer> missing, Map<Integer, String> failures) {
+        this(missing, failures, Map.of());
+    }
+    
+    public static BulkWriteOutcome success() {
+        return new BulkWriteOutcome(Set.of(), Map.of());
+    }
+}
\ No newline at end of file
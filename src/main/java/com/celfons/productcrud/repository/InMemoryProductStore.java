@@ -0,0 +1,352 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.stats.CatalogStatsAccumulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Concurrent in-memory product storage engine, used instead of MongoDB with the "inmemory" profile.
+ * Products live in a ConcurrentHashMap keyed by id, with sorted secondary indexes on id (keyset pagination),
+ * (price, id) and (normalizedName, id), plus an inverted word index for text search.
+ * Writes are serialized by a single lock; reads never block and re-check every index hit against
+ * the current product, so a read racing a write sees either the old or the new state of a product.
+ * Stored products are never mutated: every write replaces the instance.
+ * With product.store.log.enabled the writes are also appended to a memory-mapped log that is replayed on startup.
+ * The catalog stats are maintained under the write lock, with the extremes read from the price index.
+ */
+@Component
+@Profile("inmemory")
+public class InMemoryProductStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProductStore.class);
+    
+    private static final Comparator<IndexKey<BigDecimal>> PRICE_ORDER = IndexKey.order();
+    private static final Comparator<IndexKey<String>> NAME_ORDER = IndexKey.order();
+    
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> idIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<IndexKey<BigDecimal>> priceIndex = new ConcurrentSkipListSet<>(PRICE_ORDER);
+    private final ConcurrentSkipListSet<IndexKey<String>> nameIndex = new ConcurrentSkipListSet<>(NAME_ORDER);
+    private final Map<String, Set<String>> wordIndex = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ProductAppendLog appendLog;
+    private final CatalogStatsAccumulator catalogStats;
+    
+    @Autowired
+    public InMemoryProductStore(@Value("${product.store.log.enabled:false}") boolean logEnabled,
+                                @Value("${product.store.log.path:data/products.log}") Path logPath,
+                                @Value("${product.store.log.segment-size:64MB}") DataSize segmentSize,
+                                @Value("${product.store.log.sync:false}") boolean sync,
+                                ObjectMapper objectMapper,
+                                CatalogStatsAccumulator catalogStats) {
+        this.catalogStats = catalogStats;
+        this.appendLog = logEnabled
+                ? new ProductAppendLog(logPath, segmentSize.toBytes(), sync, objectMapper)
+                : null;
+        if (appendLog != null) {
+            long started = System.nanoTime();
+            appendLog.replay(this::index, this::unindex);
+            log.info("Replayed {} log records into {} products in {} ms", appendLog.records(), products.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+            // Superseded records only slow down the next restart; rewrite the log once they dominate
+            if (appendLog.records() > 2L * products.size()) {
+                appendLog.compact(products.values());
+            }
+        }
+    }
+    
+    /**
+     * Stores a new product, assigning an id when it has none. Fails if the id is already taken.
+     */
+    public Product insert(Product product) {
+        Product stored = copyOf(product);
+        if (stored.getId() == null) {
+            stored.setId(new ObjectId().toHexString());
+        }
+        stored.setVersion(0L);
+        writeLock.lock();
+        try {
+            if (products.containsKey(stored.getId())) {
+                throw new DuplicateKeyException("Product with ID " + stored.getId() + " already exists");
+            }
+            write(stored);
+        } finally {
+            writeLock.unlock();
+        }
+        return stored;
+    }
+    
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(products.get(id));
+    }
+    
+    public boolean existsById(String id) {
+        return products.containsKey(id);
+    }
+    
+    /**
+     * Products ordered by id, starting after the given id (null for the first page).
+     */
+    public List<Product> findPage(String after, int limit) {
+        Set<String> ids = after == null ? idIndex : idIndex.tailSet(after, false);
+        return ids.stream().map(products::get).filter(Objects::nonNull).limit(limit).toList();
+    }
+    
+    /**
+     * Lazily walks every product in id order.
+     */
+    public Stream<Product> streamAll() {
+        return idIndex.stream().map(products::get).filter(Objects::nonNull);
+    }
+    
+    /**
+     * Applies the name, description, price and updatedAt of the changes, matching on the version when given.
+     * Mirrors ProductRepositoryCustom#updateFields: empty when nothing matched.
+     */
+    public Optional<Product> updateFields(String id, Product changes) {
+        writeLock.lock();
+        try {
+            Product current = products.get(id);
+            if (current == null || (changes.getVersion() != null && !changes.getVersion().equals(current.getVersion()))) {
+                return Optional.empty();
+            }
+            Product updated = copyOf(current);
+            updated.setName(changes.getName());
+            updated.setDescription(changes.getDescription());
+            updated.setPrice(changes.getPrice());
+            updated.setUpdatedAt(changes.getUpdatedAt());
+            updated.setVersion(current.getVersion() == null ? 1L : current.getVersion() + 1);
+            write(updated);
+            return Optional.of(updated);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Removes a product; false when it did not exist.
+     */
+    public boolean delete(String id) {
+        writeLock.lock();
+        try {
+            if (!products.containsKey(id)) {
+                return false;
+            }
+            if (appendLog != null) {
+                appendLog.appendDelete(id);
+            }
+            unindex(id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Products whose normalized name starts with the normalized prefix, ordered by name then id.
+     */
+    public List<Product> findByNamePrefix(String normalizedPrefix, long offset, int limit) {
+        return nameIndex.tailSet(IndexKey.lowest(normalizedPrefix)).stream()
+                .takeWhile(key -> key.value().startsWith(normalizedPrefix))
+                .map(key -> current(key.id(), product -> product.getNormalizedName().equals(key.value())))
+                .filter(Objects::nonNull)
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * Products whose name contains any of the words, ranked by the number of distinct words matched, then by id.
+     * Words are matched exactly after lowercasing; unlike the MongoDB text index there is no stemming.
+     */
+    public List<Product> searchByNameText(String text, long offset, int limit) {
+        Map<String, Integer> scores = new HashMap<>();
+        for (String word : words(text)) {
+            for (String id : wordIndex.getOrDefault(word, Set.of())) {
+                scores.merge(id, 1, Integer::sum);
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> products.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * Products priced between min and max (inclusive), ordered by price then id in the given direction.
+     */
+    public List<Product> findByPriceRange(BigDecimal min, BigDecimal max, Sort.Direction direction,
+                                          long offset, int limit) {
+        NavigableSet<IndexKey<BigDecimal>> range = priceIndex.subSet(IndexKey.lowest(min), true,
+                IndexKey.highest(max), true);
+        Stream<IndexKey<BigDecimal>> keys = direction.isAscending() ? range.stream() : range.descendingSet().stream();
+        return keys.map(key -> current(key.id(), product -> product.getPrice().compareTo(key.value()) == 0))
+                .filter(Objects::nonNull)
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+    
+    public long count() {
+        return products.size();
+    }
+    
+    public CatalogStats stats() {
+        return catalogStats.snapshot();
+    }
+    
+    /**
+     * Stats over the given products, with the same histogram buckets as the catalog stats.
+     */
+    public CatalogStats stats(List<Product> products) {
+        List<BigDecimal> starts = catalogStats.bucketStarts();
+        CatalogStatsAccumulator accumulator = new CatalogStatsAccumulator(starts.subList(1, starts.size()));
+        products.forEach(product -> accumulator.add(product.getPrice()));
+        return accumulator.snapshot();
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        if (appendLog != null) {
+            appendLog.close();
+        }
+    }
+    
+    /**
+     * Logs and indexes a product; callers hold the write lock.
+     */
+    private void write(Product product) {
+        if (appendLog != null) {
+            appendLog.appendPut(product);
+        }
+        index(product);
+    }
+    
+    private void index(Product product) {
+        Product previous = products.put(product.getId(), product);
+        if (previous != null) {
+            removeSecondary(previous);
+        }
+        idIndex.add(product.getId());
+        priceIndex.add(IndexKey.of(product.getPrice(), product.getId()));
+        nameIndex.add(IndexKey.of(product.getNormalizedName(), product.getId()));
+        for (String word : words(product.getName())) {
+            wordIndex.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(product.getId());
+        }
+        if (previous == null) {
+            catalogStats.add(product.getPrice());
+        } else if (catalogStats.replace(previous.getPrice(), product.getPrice())) {
+            updatePriceExtremes();
+        }
+    }
+    
+    private void unindex(String id) {
+        Product previous = products.remove(id);
+        if (previous != null) {
+            idIndex.remove(id);
+            removeSecondary(previous);
+            if (catalogStats.remove(previous.getPrice())) {
+                updatePriceExtremes();
+            }
+        }
+    }
+    
+    private void updatePriceExtremes() {
+        catalogStats.updateExtremes(priceIndex.isEmpty() ? null : priceIndex.first().value(),
+                priceIndex.isEmpty() ? null : priceIndex.last().value());
+    }
+    
+    private void removeSecondary(Product product) {
+        priceIndex.remove(IndexKey.of(product.getPrice(), product.getId()));
+        nameIndex.remove(IndexKey.of(product.getNormalizedName(), product.getId()));
+        for (String word : words(product.getName())) {
+            Set<String> ids = wordIndex.get(word);
+            if (ids != null) {
+                ids.remove(product.getId());
+            }
+        }
+    }
+    
+    /**
+     * The current product for an index hit, or null when it was changed or removed since the index was read.
+     */
+    private Product current(String id, Predicate<Product> stillMatches) {
+        Product product = products.get(id);
+        return product != null && stillMatches.test(product) ? product : null;
+    }
+    
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\W+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+    
+    private static Product copyOf(Product source) {
+        return new Product(source.getId(), source.getName(), source.getNormalizedName(),
+                source.getDescription(), source.getPrice(), source.getCreatedAt(), source.getUpdatedAt(),
+                source.getVersion());
+    }
+    
+    /**
+     * Entry of a sorted secondary index: the indexed value with the id as tie-breaker.
+     * Bound keys (no id) sort before or after every entry with the same value, to delimit range scans.
+     */
+    private record IndexKey<V extends Comparable<? super V>>(V value, int bound, String id) {
+        
+        static <V extends Comparable<? super V>> IndexKey<V> of(V value, String id) {
+            return new IndexKey<>(value, 0, id);
+        }
+        
+        static <V extends Comparable<? super V>> IndexKey<V> lowest(V value) {
+            return new IndexKey<>(value, -1, null);
+        }
+        
+        static <V extends Comparable<? super V>> IndexKey<V> highest(V value) {
+            return new IndexKey<>(value, 1, null);
+        }
+        
+        static <V extends Comparable<? super V>> Comparator<IndexKey<V>> order() {
+            return Comparator.<IndexKey<V>, V>comparing(IndexKey::value)
+                    .thenComparingInt(IndexKey::bound)
+                    .thenComparing(IndexKey::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+
+/**
+ * The few products-collection calls made by the startup tasks (ProductIndexInitializer, ProductPriceMigration),
+ * on whichever driver the active stack has, so the reactive stack does not open a blocking client just for them.
+ * Callers run on their own virtual thread, where waiting on the reactive driver blocks nothing else.
+ */
+public interface MongoStartupOperations {
+    
+    /**
+     * The ids of the products matching the query.
+     */
+    List<String> findIds(Query query);
+    
+    /**
+     * Applies the update to every matching product and returns the number of modified documents.
+     */
+    long updateMulti(Query query, UpdateDefinition update);
+    
+    void ensureIndex(IndexDefinition index);
+    
+    static MongoStartupOperations of(MongoTemplate mongoTemplate) {
+        return new MongoStartupOperations() {
+            @Override
+            public List<String> findIds(Query query) {
+                return mongoTemplate.find(query, Product.class).stream().map(Product::getId).toList();
+            }
+            
+            @Override
+            public long updateMulti(Query query, UpdateDefinition update) {
+                return mongoTemplate.updateMulti(query, update, Product.class).getModifiedCount();
+            }
+            
+            @Override
+            public void ensureIndex(IndexDefinition index) {
+                mongoTemplate.indexOps(Product.class).ensureIndex(index);
+            }
+        };
+    }
+    
+    static MongoStartupOperations of(ReactiveMongoTemplate mongoTemplate) {
+        return new MongoStartupOperations() {
+            @Override
+            public List<String> findIds(Query query) {
+                return mongoTemplate.find(query, Product.class).map(Product::getId).collectList().block();
+            }
+            
+            @Override
+            public long updateMulti(Query query, UpdateDefinition update) {
+                return mongoTemplate.updateMulti(query, update, Product.class).block().getModifiedCount();
+            }
+            
+            @Override
+            public void ensureIndex(IndexDefinition index) {
+                mongoTemplate.indexOps(Product.class).ensureIndex(index).block();
+            }
+        };
+    }
+}
\ No newline at end of file
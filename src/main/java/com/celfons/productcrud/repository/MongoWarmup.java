@@ -0,0 +1,84 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Opens the MongoDB connection in the background as soon as the application has started, instead of on the
+ * first request: a ping establishes the connection pool, and one mapped read loads the query and conversion
+ * path. Until then the mongoWarmup health indicator (MongoWarmupHealthConfig) reports OUT_OF_SERVICE, which keeps
+ * the readiness probe (/actuator/health/readiness) at 503, so an instance takes traffic as soon as the database
+ * answers, not before.
+ * Startup itself never waits for the database, and an unreachable one is retried at a fixed delay.
+ */
+@Component
+@Profile("!inmemory & !reactive")
+public class MongoWarmup {
+    
+    private static final Logger log = LoggerFactory.getLogger(MongoWarmup.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final Duration retryDelay;
+    private volatile boolean warm;
+    private Thread worker;
+    
+    @Autowired
+    public MongoWarmup(MongoTemplate mongoTemplate,
+                       @Value("${product.mongo.warmup.retry-delay:1s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.retryDelay = retryDelay;
+    }
+    
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        worker = Thread.ofVirtual().name("mongo-warmup").start(this::run);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+    
+    public boolean isWarm() {
+        return warm;
+    }
+    
+    private void run() {
+        try {
+            while (!warmUp()) {
+                Thread.sleep(retryDelay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    boolean warmUp() {
+        try {
+            long started = System.nanoTime();
+            mongoTemplate.executeCommand(new Document("ping", 1));
+            mongoTemplate.findOne(new Query().limit(1), Product.class);
+            warm = true;
+            log.info("MongoDB connection warmed up in {} ms", (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("MongoDB not reachable yet, retrying in {}: {}", retryDelay, e.getMessage());
+            return false;
+        }
+    }
+}
\ No newline at end of file
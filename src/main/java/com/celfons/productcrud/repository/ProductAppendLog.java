@@ -0,0 +1,197 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped log of product writes backing InMemoryProductStore across restarts.
+ * Each record is [length][crc32][op][payload]; a zero length marks the end of the log, and a record
+ * whose checksum does not match (a torn write) ends the replay. The file is mapped in windows of
+ * segmentSize bytes, so appends are plain memory writes that the OS flushes in the background;
+ * with sync enabled every append is also forced to disk. Not thread-safe: the store serializes writes.
+ */
+class ProductAppendLog implements AutoCloseable {
+    
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + 1;
+    
+    private final Path path;
+    private final long segmentSize;
+    private final boolean sync;
+    private final ObjectMapper objectMapper;
+    
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long records;
+    
+    ProductAppendLog(Path path, long segmentSize, boolean sync, ObjectMapper objectMapper) {
+        this.path = path;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Replays every intact record in write order, then opens the log for appending after the last one.
+     */
+    void replay(Consumer<Product> put, Consumer<String> delete) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.exists(path)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                    readRecords(in, Files.size(path), put, delete);
+                }
+            }
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay product log " + path, e);
+        }
+    }
+    
+    /**
+     * Number of records in the log, live or superseded; compared with the live count to decide on compaction.
+     */
+    long records() {
+        return records;
+    }
+    
+    void appendPut(Product product) {
+        try {
+            append(PUT, objectMapper.writeValueAsBytes(product));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append product " + product.getId() + " to " + path, e);
+        }
+    }
+    
+    void appendDelete(String id) {
+        append(DELETE, id.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Rewrites the log with one record per live product and atomically replaces the current file.
+     */
+    void compact(Collection<Product> products) {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            close();
+            Files.deleteIfExists(compacted);
+            try (ProductAppendLog target = new ProductAppendLog(compacted, segmentSize, false, objectMapper)) {
+                target.open();
+                products.forEach(target::appendPut);
+                position = target.position;
+                records = target.records;
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact product log " + path, e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            window.force();
+            channel.close();
+            channel = null;
+            window = null;
+        }
+    }
+    
+    /**
+     * Reads records until the end marker or the first damaged one. A length beyond the end of the file can
+     * only come from a torn or corrupt tail, so it ends the replay before anything is allocated for it.
+     */
+    private void readRecords(DataInputStream in, long fileSize, Consumer<Product> put, Consumer<String> delete)
+            throws IOException {
+        CRC32 crc = new CRC32();
+        while (true) {
+            int length;
+            int checksum;
+            byte[] record;
+            try {
+                length = in.readInt();
+                if (length <= 0 || length > fileSize - position - Integer.BYTES * 2L) {
+                    return;
+                }
+                checksum = in.readInt();
+                record = in.readNBytes(length);
+            } catch (EOFException e) {
+                return;
+            }
+            crc.reset();
+            crc.update(record);
+            if (record.length < length || (int) crc.getValue() != checksum) {
+                return;
+            }
+            if (record[0] == PUT) {
+                put.accept(objectMapper.readValue(record, 1, length - 1, Product.class));
+            } else {
+                delete.accept(new String(record, 1, length - 1, StandardCharsets.UTF_8));
+            }
+            position += Integer.BYTES * 2L + length;
+            records++;
+        }
+    }
+    
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(segmentSize);
+    }
+    
+    private void map(long size) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, size);
+    }
+    
+    private void append(byte op, byte[] payload) {
+        int length = payload.length + 1;
+        try {
+            if (window.remaining() < HEADER_SIZE + payload.length + Integer.BYTES) {
+                // Keep room for the zero end marker after the record
+                window.force();
+                map(Math.max(segmentSize, HEADER_SIZE + payload.length + Integer.BYTES));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot extend product log " + path, e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(payload);
+        int start = window.position();
+        // Write the body before the length so a crash mid-append leaves a zero length, not a half record
+        window.position(start + Integer.BYTES);
+        window.putInt((int) crc.getValue());
+        window.put(op);
+        window.put(payload);
+        window.putInt(0);
+        window.putInt(start, length);
+        window.position(window.position() - Integer.BYTES);
+        if (sync) {
+            window.force();
+        }
+        position = windowStart + window.position();
+        records++;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.celfons.productcrud.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Creates the indexes of the products collection once the application is ready,
+ * backfills normalizedName on documents written before it existed and converts legacy string prices.
+ * Runs on a virtual thread so an unreachable database never delays or fails startup.
+ */
+@Component
+@Profile("!inmemory")
+public class ProductIndexInitializer {
+    
+    static final String NAME_INDEX = "normalizedName_1";
+    static final String TEXT_INDEX = "name_text";
+    static final String PRICE_INDEX = "price_1__id_1";
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexInitializer.class);
+    
+    private final MongoStartupOperations mongoOperations;
+    private final ProductPriceMigration priceMigration;
+    
+    public ProductIndexInitializer(MongoStartupOperations mongoOperations, ProductPriceMigration priceMigration) {
+        this.mongoOperations = mongoOperations;
+        this.priceMigration = priceMigration;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("product-index-initializer").start(this::initialize);
+    }
+    
+    void initialize() {
+        // Convert prices first so the price index is built over numeric values only
+        long migrated = migratePrices();
+        try {
+            mongoOperations.ensureIndex(new Index().on("normalizedName", Sort.Direction.ASC).named(NAME_INDEX));
+            mongoOperations.ensureIndex(TextIndexDefinition.builder().onField("name").named(TEXT_INDEX).build());
+            mongoOperations.ensureIndex(new Index().on("price", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                    .named(PRICE_INDEX));
+            long backfilled = mongoOperations.updateMulti(
+                    new Query(where("normalizedName").exists(false)),
+                    AggregationUpdate.update().set("normalizedName").toValue(
+                            StringOperators.valueOf(StringOperators.valueOf("name").trim()).toLower()));
+            log.info("Product indexes ready, converted {} prices and backfilled normalizedName on {} documents",
+                    migrated, backfilled);
+        } catch (RuntimeException e) {
+            log.warn("Could not initialize product indexes: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Runs the price migration on its own, so a failed migration still leaves the indexes to be created;
+     * documents it did not reach keep their string price until the next start.
+     */
+    private long migratePrices() {
+        try {
+            return priceMigration.migrate();
+        } catch (RuntimeException e) {
+            log.warn("Could not convert legacy string prices: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.celfons.productcrud.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Converts prices stored as strings (the Spring Data default for BigDecimal) to Decimal128.
+ * Walks the collection in _id order, one batch at a time, so each step is a bounded index scan
+ * plus one pipeline update, and the migration can be interrupted and resumed safely.
+ * A price that is not a valid number is left as it is and logged, instead of failing its batch on every startup.
+ */
+@Component
+@Profile("!inmemory")
+public class ProductPriceMigration {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductPriceMigration.class);
+    
+    private final MongoStartupOperations mongoOperations;
+    private final boolean enabled;
+    private final int batchSize;
+    
+    public ProductPriceMigration(MongoStartupOperations mongoOperations,
+                                 @Value("${product.migration.price.enabled:true}") boolean enabled,
+                                 @Value("${product.migration.price.batch-size:1000}") int batchSize) {
+        this.mongoOperations = mongoOperations;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Runs the migration to completion and returns the number of converted documents.
+     */
+    public long migrate() {
+        if (!enabled) {
+            return 0;
+        }
+        AggregationUpdate toDecimal = AggregationUpdate.update()
+                .set("price").toValue(ConvertOperators.valueOf("price").convertTo("decimal")
+                        .onErrorReturnValueOf("price")
+                        .onNullReturnValueOf("price"));
+        long converted = 0;
+        String lastId = null;
+        while (true) {
+            Criteria criteria = where("price").type(JsonSchemaObject.Type.STRING);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query batchQuery = new Query(criteria).with(Sort.by("id")).limit(batchSize);
+            batchQuery.fields().include("_id");
+            List<String> ids = mongoOperations.findIds(batchQuery);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long modified = mongoOperations.updateMulti(new Query(where("_id").in(ids)), toDecimal);
+            if (modified < ids.size()) {
+                logUnconvertible(ids);
+            }
+            converted += modified;
+            lastId = ids.get(ids.size() - 1);
+            log.info("Converted {} product prices to Decimal128 so far", converted);
+        }
+        return converted;
+    }
+    
+    private void logUnconvertible(List<String> ids) {
+        Query leftQuery = new Query(where("_id").in(ids).and("price").type(JsonSchemaObject.Type.STRING));
+        leftQuery.fields().include("_id");
+        List<String> left = mongoOperations.findIds(leftQuery);
+        if (!left.isEmpty()) {
+            log.warn("Left {} product prices that are not valid numbers as strings: {}", left.size(), left);
+        }
+    }
+}
\ No newline at end of file
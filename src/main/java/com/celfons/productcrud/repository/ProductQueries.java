@@ -0,0 +1,158 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductSearchMode;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Queries and updates on the products collection, shared by the blocking and reactive data access paths
+ * so that both hit the same indexes with the same shapes.
+ */
+public final class ProductQueries {
+    
+    private ProductQueries() {
+    }
+    
+    public static Query byId(String id) {
+        return new Query(where("_id").is(id));
+    }
+    
+    /**
+     * Matches the product by id and, when the changes carry a version, only at that version.
+     */
+    public static Query byIdAndVersion(String id, Long version) {
+        Query query = byId(id);
+        if (version != null) {
+            query.addCriteria(where("version").is(version));
+        }
+        return query;
+    }
+    
+    /**
+     * Products ordered by id, starting after the given id (null for the first page), as a range on _id.
+     */
+    public static Query page(String after, Limit limit) {
+        Query query = after == null ? new Query() : new Query(where("_id").gt(after));
+        return query.with(Sort.by("id")).limit(limit);
+    }
+    
+    /**
+     * Restricts the returned documents to the selected fields, so unselected ones never leave the server.
+     * Selecting every field leaves the query unchanged.
+     */
+    public static Query project(Query query, Set<ProductField> fields) {
+        if (!fields.containsAll(ProductField.ALL)) {
+            fields.forEach(field -> query.fields().include(field.getProperty()));
+        }
+        return query;
+    }
+    
+    /**
+     * Names starting with the normalized prefix, as a [prefix, prefix + U+FFFF) range on the normalizedName index.
+     * A range keeps index bounds tight without the regex escaping concerns of an anchored pattern.
+     */
+    public static Query namePrefix(String normalizedPrefix, Pageable pageable) {
+        return new Query(namePrefixCriteria(normalizedPrefix))
+                .with(Sort.by("normalizedName", "id"))
+                .with(pageable);
+    }
+    
+    /**
+     * Whole-word matches on the name text index, most relevant first.
+     */
+    public static Query nameText(String text, Pageable pageable) {
+        return TextQuery.queryText(nameTextCriteria(text))
+                .sortByScore()
+                .with(pageable);
+    }
+    
+    /**
+     * Prices between min and max inclusive. Bounds are passed as Decimal128 to match the stored type.
+     */
+    public static Query priceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return new Query(priceRangeCriteria(minPrice, maxPrice)).with(pageable);
+    }
+    
+    /**
+     * Name matches within a price range, in the order of the name search (name or relevance) and paged.
+     */
+    public static Query nameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice,
+                                          BigDecimal maxPrice, Pageable pageable) {
+        Query query = switch (mode) {
+            case PREFIX -> new Query(namePrefixCriteria(term)).with(Sort.by("normalizedName", "id"));
+            case TEXT -> TextQuery.queryText(nameTextCriteria(term)).sortByScore();
+        };
+        return query.addCriteria(priceRangeCriteria(minPrice, maxPrice)).with(pageable);
+    }
+    
+    /**
+     * Name matches within a price range, unsorted and unpaged, for counting.
+     */
+    public static Query nameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice,
+                                          BigDecimal maxPrice) {
+        return new Query(nameCriteria(term, mode)).addCriteria(priceRangeCriteria(minPrice, maxPrice));
+    }
+    
+    /**
+     * The name condition of a search: a normalizedName range for a prefix, the text index for words.
+     * The term is already normalized for a prefix search.
+     */
+    public static CriteriaDefinition nameCriteria(String term, ProductSearchMode mode) {
+        return switch (mode) {
+            case PREFIX -> namePrefixCriteria(term);
+            case TEXT -> nameTextCriteria(term);
+        };
+    }
+    
+    /**
+     * The mutable fields of a product as a $set, plus a version increment for optimistic locking.
+     */
+    public static Update fieldUpdate(Product changes) {
+        return new Update()
+                .set("name", changes.getName())
+                .set("normalizedName", Product.normalizeName(changes.getName()))
+                .set("description", changes.getDescription())
+                .set("price", new Decimal128(changes.getPrice()))
+                .set("updatedAt", changes.getUpdatedAt())
+                .inc("version", 1);
+    }
+    
+    /**
+     * The product as fieldUpdate leaves it, derived from the document it was applied to.
+     */
+    public static Product afterFieldUpdate(Product previous, Product changes) {
+        Product updated = new Product(changes.getName(), changes.getDescription(), changes.getPrice());
+        updated.setId(previous.getId());
+        updated.setCreatedAt(previous.getCreatedAt());
+        updated.setUpdatedAt(changes.getUpdatedAt());
+        updated.setVersion(previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+        return updated;
+    }
+    
+    private static Criteria namePrefixCriteria(String normalizedPrefix) {
+        return where("normalizedName").gte(normalizedPrefix).lt(normalizedPrefix + Character.MAX_VALUE);
+    }
+    
+    private static TextCriteria nameTextCriteria(String text) {
+        return TextCriteria.forDefaultLanguage().matching(text);
+    }
+    
+    private static Criteria priceRangeCriteria(BigDecimal minPrice, BigDecimal maxPrice) {
+        return where("price").gte(new Decimal128(minPrice)).lte(new Decimal128(maxPrice));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Maps a products document straight to a Product, replacing the reflective entity mapping on every read
+ * (finds, findAndModify, aggregations and change events alike).
+ * Fields missing from a projection stay null. Dates are read in the system zone, like Spring Data's
+ * java.time converters used on the write side, and legacy string prices are still accepted.
+ */
+@ReadingConverter
+public class ProductReadConverter implements Converter<Document, Product> {
+    
+    @Override
+    public Product convert(Document source) {
+        return new Product(
+                id(source.get("_id")),
+                source.getString("name"),
+                source.getString("normalizedName"),
+                source.getString("description"),
+                price(source.get("price")),
+                dateTime(source.get("createdAt")),
+                dateTime(source.get("updatedAt")),
+                version(source.get("version")));
+    }
+    
+    private static String id(Object value) {
+        // Ids that look like ObjectIds are stored as ObjectIds by Spring Data
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return value == null ? null : value.toString();
+    }
+    
+    private static BigDecimal price(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return value == null ? null : new BigDecimal(value.toString());
+    }
+    
+    private static LocalDateTime dateTime(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+    
+    private static Long version(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
\ No newline at end of file
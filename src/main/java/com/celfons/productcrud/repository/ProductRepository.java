@@ -4,29 +4,25 @@ import com.celfons.productcrud.model.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Product entity.
  * Follows the Repository pattern and SOLID principles.
- * Extends MongoRepository for basic CRUD operations.
+ * Extends MongoRepository for basic CRUD operations and ProductRepositoryCustom for bulk writes.
  */
 @Repository
-public interface ProductRepository extends MongoRepository<Product, String> {
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
     
     /**
-     * Find products by name containing the given text (case-insensitive).
-     */
-    List<Product> findByNameContainingIgnoreCase(String name);
-    
-    /**
-     * Find products by price range.
+     * Find products by exact name (case-insensitive).
      */
-    List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    List<Product> findByNameIgnoreCase(String name);
     
     /**
-     * Find products by exact name (case-insensitive).
+     * Stream all products ordered by id straight from a MongoDB cursor.
+     * The returned stream must be closed to release the cursor.
      */
-    List<Product> findByNameIgnoreCase(String name);
+    Stream<Product> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductSearchMode;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom repository fragment for operations that derived queries cannot express.
+ * Implemented by ProductRepositoryCustomImpl on top of MongoTemplate.
+ */
+public interface ProductRepositoryCustom {
+    
+    /**
+     * Find a page of products ordered by id, following the given id (null for the first page).
+     * Only the selected fields are read; the others are left unset on the returned products.
+     */
+    List<Product> findPage(String after, Limit limit, Set<ProductField> fields);
+    
+    /**
+     * Find products whose normalized name starts with the given normalized prefix, ordered by name.
+     * Runs as a range scan on the normalizedName index rather than a regex.
+     */
+    List<Product> findByNamePrefix(String normalizedPrefix, Pageable pageable, Set<ProductField> fields);
+    
+    /**
+     * Find products whose name matches the given words through the text index, most relevant first.
+     */
+    List<Product> searchByNameText(String text, Pageable pageable, Set<ProductField> fields);
+    
+    /**
+     * Find products priced between min and max (inclusive) using the price index,
+     * in the order and page given by the pageable.
+     */
+    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable,
+                                   Set<ProductField> fields);
+    
+    /**
+     * Find products matching the name search that are also priced between min and max (inclusive),
+     * in the order of the name search. A prefix must already be normalized.
+     */
+    List<Product> findByNameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice,
+                                          BigDecimal maxPrice, Pageable pageable, Set<ProductField> fields);
+    
+    /**
+     * Count the products matching the name search that are priced between min and max (inclusive).
+     */
+    long countByNameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice, BigDecimal maxPrice);
+    
+    /**
+     * Atomically set name, description, price and updatedAt of one product and increment its version,
+     * in a single findAndModify round trip. When the changes carry a version, only that version matches.
+     * Returns the product before and after the update, or empty when no document matched.
+     */
+    Optional<ProductUpdate> updateFields(String id, Product changes);
+    
+    /**
+     * Delete one product in a single findAndModify round trip and return it, or empty when no document matched.
+     */
+    Optional<Product> findAndDelete(String id);
+    
+    /**
+     * Insert products with a single unordered bulkWrite. Products must already carry their ids.
+     */
+    BulkWriteOutcome bulkInsert(List<Product> products);
+    
+    /**
+     * Update name, description, price and updatedAt of existing products, one findAndModify per product run
+     * concurrently. The outcome carries the price of each product before the update.
+     */
+    BulkWriteOutcome bulkUpdate(List<Product> products);
+    
+    /**
+     * Delete existing products by id, one findAndRemove per id run concurrently.
+     * The outcome carries the price of each deleted product.
+     */
+    BulkWriteOutcome bulkDelete(List<String> ids);
+    
+    /**
+     * The lowest (ascending) or highest (descending) price in the catalog, read from the price index.
+     */
+    Optional<BigDecimal> findExtremePrice(Sort.Direction direction);
+    
+    /**
+     * Count, price sum, extremes, average and a price histogram over the whole collection, in one aggregation.
+     * The histogram has one bucket starting at each of the given ascending prices, the last one unbounded.
+     */
+    CatalogStats aggregateStats(List<BigDecimal> bucketStarts);
+    
+    /**
+     * The same figures as aggregateStats, over the products matching the name search only.
+     */
+    CatalogStats aggregateStatsByName(String term, ProductSearchMode mode, List<BigDecimal> bucketStarts);
+}
\ No newline at end of file
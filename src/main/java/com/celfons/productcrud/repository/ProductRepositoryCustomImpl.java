@@ -0,0 +1,285 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of ProductRepositoryCustom.
+ * Picked up by Spring Data through the "Impl" naming convention.
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    
+    /**
+     * Concurrent single-document writes per batch update or delete; well below the connection pool size,
+     * so a batch leaves connections for other requests.
+     */
+    static final int WRITE_PARALLELISM = 16;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public ProductRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public List<Product> findPage(String after, Limit limit, Set<ProductField> fields) {
+        Query query = ProductQueries.page(after, limit);
+        return mongoTemplate.find(ProductQueries.project(query, fields), Product.class);
+    }
+    
+    @Override
+    public List<Product> findByNamePrefix(String normalizedPrefix, Pageable pageable, Set<ProductField> fields) {
+        Query query = ProductQueries.namePrefix(normalizedPrefix, pageable);
+        return mongoTemplate.find(ProductQueries.project(query, fields), Product.class);
+    }
+    
+    @Override
+    public List<Product> searchByNameText(String text, Pageable pageable, Set<ProductField> fields) {
+        Query query = ProductQueries.nameText(text, pageable);
+        return mongoTemplate.find(ProductQueries.project(query, fields), Product.class);
+    }
+    
+    @Override
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable,
+                                          Set<ProductField> fields) {
+        Query query = ProductQueries.priceRange(minPrice, maxPrice, pageable);
+        return mongoTemplate.find(ProductQueries.project(query, fields), Product.class);
+    }
+    
+    @Override
+    public List<Product> findByNameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice,
+                                                 BigDecimal maxPrice, Pageable pageable, Set<ProductField> fields) {
+        Query query = ProductQueries.nameAndPriceRange(term, mode, minPrice, maxPrice, pageable);
+        return mongoTemplate.find(ProductQueries.project(query, fields), Product.class);
+    }
+    
+    @Override
+    public long countByNameAndPriceRange(String term, ProductSearchMode mode, BigDecimal minPrice,
+                                         BigDecimal maxPrice) {
+        return mongoTemplate.count(ProductQueries.nameAndPriceRange(term, mode, minPrice, maxPrice), Product.class);
+    }
+    
+    @Override
+    public Optional<ProductUpdate> updateFields(String id, Product changes) {
+        // Return the old document and derive the new one, so callers learn the previous price for free
+        Product previous = mongoTemplate.findAndModify(ProductQueries.byIdAndVersion(id, changes.getVersion()),
+                ProductQueries.fieldUpdate(changes), FindAndModifyOptions.options().returnNew(false), Product.class);
+        return Optional.ofNullable(previous)
+                .map(product -> new ProductUpdate(product, ProductQueries.afterFieldUpdate(product, changes)));
+    }
+    
+    @Override
+    public Optional<Product> findAndDelete(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(ProductQueries.byId(id), Product.class));
+    }
+    
+    @Override
+    public BulkWriteOutcome bulkInsert(List<Product> products) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, Product.class);
+        operations.insert(products);
+        return execute(operations, IntStream.range(0, products.size()).boxed().toList());
+    }
+    
+    @Override
+    public BulkWriteOutcome bulkUpdate(List<Product> products) {
+        return writeExisting(products, product -> mongoTemplate.findAndModify(byIdWithPrice(product.getId()),
+                ProductQueries.fieldUpdate(product), FindAndModifyOptions.options().returnNew(false), Product.class));
+    }
+    
+    @Override
+    public BulkWriteOutcome bulkDelete(List<String> ids) {
+        return writeExisting(ids, id -> mongoTemplate.findAndRemove(byIdWithPrice(id), Product.class));
+    }
+    
+    @Override
+    public Optional<BigDecimal> findExtremePrice(Sort.Direction direction) {
+        // Legacy string prices sort after every number; the range keeps them out and still uses the price index
+        Query query = new Query(where("price").gte(new Decimal128(BigDecimal.ZERO)))
+                .with(Sort.by(direction, "price"))
+                .limit(1);
+        query.fields().include("price");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Product.class)).map(Product::getPrice);
+    }
+    
+    @Override
+    public CatalogStats aggregateStats(List<BigDecimal> bucketStarts) {
+        return aggregateStats(List.of(), bucketStarts);
+    }
+    
+    @Override
+    public CatalogStats aggregateStatsByName(String term, ProductSearchMode mode, List<BigDecimal> bucketStarts) {
+        // A $text match has to be the first stage of the pipeline
+        return aggregateStats(List.of(Aggregation.match(ProductQueries.nameCriteria(term, mode))), bucketStarts);
+    }
+    
+    /**
+     * Runs the stats aggregation over the documents passing the given leading stages.
+     */
+    private CatalogStats aggregateStats(List<AggregationOperation> filters, List<BigDecimal> bucketStarts) {
+        Object[] boundaries = bucketStarts.stream().map(Decimal128::new).toArray();
+        List<AggregationOperation> stages = new ArrayList<>(filters);
+        stages.add(Aggregation.match(where("price").gte(new Decimal128(BigDecimal.ZERO))));
+        stages.add(Aggregation.facet(Aggregation.group()
+                        .count().as("count")
+                        .sum("price").as("sum")
+                        .min("price").as("min")
+                        .max("price").as("max"))
+                .as("summary")
+                .and(Aggregation.bucket("price")
+                        .withBoundaries(boundaries)
+                        .withDefaultBucket("overflow")
+                        .andOutputCount().as("count"))
+                .as("histogram"));
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(stages), Product.class, Document.class)
+                .getUniqueMappedResult();
+        List<Document> summary = result == null ? List.of() : result.getList("summary", Document.class);
+        List<Document> histogram = result == null ? List.of() : result.getList("histogram", Document.class);
+        Map<BigDecimal, Long> bucketCounts = new HashMap<>();
+        for (Document bucket : histogram) {
+            // $bucket omits empty buckets; values above the last boundary land in the "overflow" bucket
+            BigDecimal start = bucket.get("_id") instanceof String
+                    ? bucketStarts.get(bucketStarts.size() - 1)
+                    : decimal(bucket.get("_id"));
+            bucketCounts.merge(start.stripTrailingZeros(), ((Number) bucket.get("count")).longValue(), Long::sum);
+        }
+        List<CatalogStats.PriceBucket> buckets = new ArrayList<>(bucketStarts.size());
+        for (int i = 0; i < bucketStarts.size(); i++) {
+            BigDecimal start = bucketStarts.get(i);
+            BigDecimal end = i + 1 < bucketStarts.size() ? bucketStarts.get(i + 1) : null;
+            buckets.add(new CatalogStats.PriceBucket(start, end,
+                    bucketCounts.getOrDefault(start.stripTrailingZeros(), 0L)));
+        }
+        if (summary.isEmpty()) {
+            return new CatalogStats(0, BigDecimal.ZERO, null, null, null, buckets);
+        }
+        Document totals = summary.get(0);
+        long count = ((Number) totals.get("count")).longValue();
+        BigDecimal sum = decimal(totals.get("sum"));
+        return new CatalogStats(count, sum, decimal(totals.get("min")), decimal(totals.get("max")),
+                sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64), buckets);
+    }
+    
+    /**
+     * Writes each item with its own findAndModify or findAndRemove, so whether the document existed and the
+     * price it had come from the write itself and not from an earlier read. The items are spread over
+     * WRITE_PARALLELISM virtual threads, each one working through every WRITE_PARALLELISM-th position.
+     */
+    private <T> BulkWriteOutcome writeExisting(List<T> items, Function<T, Product> write) {
+        Product[] previous = new Product[items.size()];
+        String[] errors = new String[items.size()];
+        List<Future<?>> lanes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int lane = 0; lane < Math.min(WRITE_PARALLELISM, items.size()); lane++) {
+                int first = lane;
+                lanes.add(executor.submit(() -> {
+                    for (int position = first; position < items.size(); position += WRITE_PARALLELISM) {
+                        try {
+                            previous[position] = write.apply(items.get(position));
+                        } catch (DataAccessException e) {
+                            errors[position] = e.getMessage();
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> lane : lanes) {
+            await(lane);
+        }
+        Set<Integer> missing = new HashSet<>();
+        Map<Integer, String> failures = new HashMap<>();
+        // HashMap: a product without a price is still an existing product
+        Map<Integer, BigDecimal> previousPrices = new HashMap<>();
+        for (int position = 0; position < items.size(); position++) {
+            if (errors[position] != null) {
+                failures.put(position, errors[position]);
+            } else if (previous[position] == null) {
+                missing.add(position);
+            } else {
+                previousPrices.put(position, previous[position].getPrice());
+            }
+        }
+        return new BulkWriteOutcome(missing, failures, previousPrices);
+    }
+    
+    /**
+     * Rethrows whatever a lane failed with other than a per-item write error.
+     */
+    private static void await(Future<?> lane) {
+        try {
+            lane.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while writing products");
+        }
+    }
+    
+    private static Query byIdWithPrice(String id) {
+        Query query = ProductQueries.byId(id);
+        query.fields().include("price");
+        return query;
+    }
+    
+    /**
+     * Executes the bulk operation and maps driver error indexes (operation order) back to list positions.
+     */
+    private BulkWriteOutcome execute(BulkOperations operations, List<Integer> positions) {
+        try {
+            operations.execute();
+            return BulkWriteOutcome.success();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(positions.get(error.getIndex()), error.getMessage());
+            }
+            return new BulkWriteOutcome(Set.of(), failures);
+        }
+    }
+    
+    private static BigDecimal decimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return value == null ? null : new BigDecimal(value.toString());
+    }
+}
\ No newline at end of file
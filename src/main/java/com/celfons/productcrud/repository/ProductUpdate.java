@@ -0,0 +1,9 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+
+/**
+ * Outcome of a single-document update: the product as it was before and as it is after the update.
+ */
+public record ProductUpdate(Product previous, Product updated) {
+}
\ No newline at end of file
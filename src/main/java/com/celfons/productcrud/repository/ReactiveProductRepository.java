@@ -0,0 +1,13 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking repository for Product, used by the reactive stack (profile "reactive").
+ * Queries beyond basic CRUD go through ReactiveMongoTemplate with the shapes in ProductQueries.
+ */
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.config.MetricsConfig;
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.BatchItemStatus;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.ImportResult;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductLookup;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductQueryResult;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.repository.InMemoryProductStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * ProductService backed by InMemoryProductStore, active with the "inmemory" profile.
+ * Applies the same validation and error contract as ProductServiceImpl, for tests, local development
+ * and read-mostly edge nodes that should not depend on a remote database.
+ * Reads are served straight from memory, so no cache sits in front of the store, and field selections
+ * are left to the response: there are no wire bytes to save.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Profile("inmemory")
+public class InMemoryProductService implements ProductService {
+    
+    private final InMemoryProductStore store;
+    private final CatalogVersion catalogVersion;
+    
+    @Autowired
+    public InMemoryProductService(InMemoryProductStore store, CatalogVersion catalogVersion) {
+        this.store = store;
+        this.catalogVersion = catalogVersion;
+    }
+    
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.current();
+    }
+    
+    @Override
+    public CatalogStats getCatalogStats() {
+        return store.stats();
+    }
+    
+    @Override
+    public Product createProduct(Product product) {
+        validateProduct(product);
+        LocalDateTime now = LocalDateTime.now();
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        Product created = store.insert(product);
+        catalogVersion.increment();
+        return created;
+    }
+    
+    @Override
+    public ProductPage getProducts(String after, int limit, Set<ProductField> fields) {
+        if (limit < 1) {
+            throw ProductValidationException.of("Page limit must be at least 1");
+        }
+        int pageLimit = Math.min(limit, MAX_PAGE_SIZE);
+        return ProductPage.of(store.findPage(after == null || after.isBlank() ? null : after, pageLimit), pageLimit);
+    }
+    
+    @Override
+    public Stream<Product> streamAllProducts() {
+        return store.streamAll();
+    }
+    
+    @Override
+    public Optional<Product> getProductById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw ProductValidationException.of("Product ID cannot be null or empty");
+        }
+        return store.findById(id);
+    }
+    
+    @Override
+    public ProductLookup lookupProducts(List<String> ids) {
+        Set<String> uniqueIds = ProductServiceImpl.validateLookup(ids);
+        Map<String, Product> found = new HashMap<>();
+        for (String id : uniqueIds) {
+            store.findById(id).ifPresent(product -> found.put(id, product));
+        }
+        return ProductLookup.of(uniqueIds, found);
+    }
+    
+    @Override
+    public Product updateProduct(String id, Product product) {
+        if (id == null || id.trim().isEmpty()) {
+            throw ProductValidationException.of("Product ID cannot be null or empty");
+        }
+        validateProduct(product);
+        product.setUpdatedAt(LocalDateTime.now());
+        Product updated = store.updateFields(id, product).orElseThrow(() -> {
+            if (product.getVersion() != null && store.existsById(id)) {
+                return new OptimisticLockingFailureException("Product with ID " + id + " was modified concurrently");
+            }
+            return ProductNotFoundException.INSTANCE;
+        });
+        catalogVersion.increment();
+        return updated;
+    }
+    
+    @Override
+    public void deleteProduct(String id) {
+        if (id == null || !store.delete(id)) {
+            throw ProductNotFoundException.INSTANCE;
+        }
+        catalogVersion.increment();
+    }
+    
+    @Override
+    public BatchResult createProducts(List<Product> products) {
+        ProductServiceImpl.validateBatchSize(products);
+        return BatchResult.of(insert(products, false));
+    }
+    
+    @Override
+    public ImportResult importProducts(Iterator<Product> products) {
+        return ProductServiceImpl.importInChunks(products, chunk -> BatchResult.of(insert(chunk, true)));
+    }
+    
+    /**
+     * Validates and inserts the products one by one; when restoring, timestamps the products already carry are kept.
+     */
+    private BatchItemResult[] insert(List<Product> products, boolean restore) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        for (int index = 0; index < products.size(); index++) {
+            Product product = products.get(index);
+            String error = ProductServiceImpl.validationError(product);
+            if (error != null) {
+                results[index] = BatchItemResult.invalid(index, product == null ? null : product.getId(), error);
+                continue;
+            }
+            if (!restore || product.getCreatedAt() == null) {
+                product.setCreatedAt(now);
+            }
+            if (!restore || product.getUpdatedAt() == null) {
+                product.setUpdatedAt(now);
+            }
+            try {
+                String id = store.insert(product).getId();
+                results[index] = BatchItemResult.succeeded(index, id, BatchItemStatus.CREATED);
+            } catch (DuplicateKeyException e) {
+                results[index] = BatchItemResult.failed(index, product.getId(), e.getMessage());
+            }
+        }
+        catalogVersion.increment();
+        return results;
+    }
+    
+    @Override
+    public BatchResult updateProducts(List<Product> products) {
+        ProductServiceImpl.validateBatchSize(products);
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        Set<String> seenIds = new HashSet<>();
+        for (int index = 0; index < products.size(); index++) {
+            Product product = products.get(index);
+            String error = ProductServiceImpl.validationError(product);
+            if (error == null && (product.getId() == null || product.getId().isBlank())) {
+                error = "Product ID cannot be null or empty";
+            }
+            if (error == null && !seenIds.add(product.getId())) {
+                error = ProductServiceImpl.DUPLICATE_ID_ERROR;
+            }
+            if (error != null) {
+                results[index] = BatchItemResult.invalid(index, product == null ? null : product.getId(), error);
+                continue;
+            }
+            product.setUpdatedAt(now);
+            results[index] = store.updateFields(product.getId(), product).isPresent()
+                    ? BatchItemResult.succeeded(index, product.getId(), BatchItemStatus.UPDATED)
+                    : BatchItemResult.notFound(index, product.getId());
+        }
+        catalogVersion.increment();
+        return BatchResult.of(results);
+    }
+    
+    @Override
+    public BatchResult deleteProducts(List<String> ids) {
+        ProductServiceImpl.validateBatchSize(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        Set<String> seenIds = new HashSet<>();
+        for (int index = 0; index < ids.size(); index++) {
+            String id = ids.get(index);
+            if (id == null || id.isBlank()) {
+                results[index] = BatchItemResult.invalid(index, id, "Product ID cannot be null or empty");
+            } else if (!seenIds.add(id)) {
+                results[index] = BatchItemResult.invalid(index, id, ProductServiceImpl.DUPLICATE_ID_ERROR);
+            } else {
+                results[index] = store.delete(id)
+                        ? BatchItemResult.succeeded(index, id, BatchItemStatus.DELETED)
+                        : BatchItemResult.notFound(index, id);
+            }
+        }
+        catalogVersion.increment();
+        return BatchResult.of(results);
+    }
+    
+    @Override
+    public List<Product> searchProductsByName(String name, ProductSearchMode mode, int page, int size,
+                                              Set<ProductField> fields) {
+        if (page < 0 || size < 1) {
+            throw ProductValidationException.of("Page must be zero or positive and size at least 1");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            return page == 0 ? getProducts(null, size, fields).items() : List.of();
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        long offset = (long) page * limit;
+        return switch (mode) {
+            case PREFIX -> store.findByNamePrefix(Product.normalizeName(name), offset, limit);
+            case TEXT -> store.searchByNameText(name.trim(), offset, limit);
+        };
+    }
+    
+    @Override
+    public List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Sort.Direction direction, int page, int size,
+                                                  Set<ProductField> fields) {
+        if (minPrice == null || maxPrice == null) {
+            throw ProductValidationException.of("Price range cannot contain null values");
+        }
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw ProductValidationException.of("Minimum price cannot be greater than maximum price");
+        }
+        if (page < 0 || size < 1) {
+            throw ProductValidationException.of("Page must be zero or positive and size at least 1");
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        return store.findByPriceRange(minPrice, maxPrice, direction, (long) page * limit, limit);
+    }
+    
+    /**
+     * Nothing waits on I/O here, so the parts of the query run one after the other on the calling thread.
+     */
+    @Override
+    public ProductQueryResult queryProducts(String name, ProductSearchMode mode, BigDecimal minPrice,
+                                            BigDecimal maxPrice, int page, int size, Set<ProductField> fields) {
+        ProductServiceImpl.validateQuery(name, minPrice, maxPrice, page, size);
+        List<Product> nameMatches = switch (mode) {
+            case PREFIX -> store.findByNamePrefix(Product.normalizeName(name), 0, Integer.MAX_VALUE);
+            case TEXT -> store.searchByNameText(name.trim(), 0, Integer.MAX_VALUE);
+        };
+        List<Product> matches = nameMatches.stream()
+                .filter(product -> product.getPrice().compareTo(minPrice) >= 0
+                        && product.getPrice().compareTo(maxPrice) <= 0)
+                .toList();
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        List<Product> items = matches.stream().skip((long) page * limit).limit(limit).toList();
+        return new ProductQueryResult(items, matches.size(), store.stats(nameMatches));
+    }
+    
+    private static void validateProduct(Product product) {
+        String error = ProductServiceImpl.validationError(product);
+        if (error != null) {
+            throw ProductValidationException.of(error);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.celfons.productcrud.service;
+
+/**
+ * Signals that the product an update or delete refers to does not exist; answered with 404.
+ * Thrown as a single preallocated instance with neither a stack trace nor suppressed exceptions, so requests
+ * for missing ids (scrapers, stale clients) cost no allocation and cannot grow the shared instance.
+ * The message leaves the id out for the same reason; it is part of the request path anyway.
+ */
+public final class ProductNotFoundException extends RuntimeException {
+    
+    public static final ProductNotFoundException INSTANCE = new ProductNotFoundException();
+    
+    private ProductNotFoundException() {
+        super("Product not found", null, false, false);
+    }
+}
\ No newline at end of file
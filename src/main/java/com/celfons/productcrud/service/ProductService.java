@@ -1,10 +1,22 @@
 package com.celfons.productcrud.service;
 
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.ImportResult;
 import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductLookup;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductQueryResult;
+import com.celfons.productcrud.model.ProductSearchMode;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service interface for Product operations.
@@ -13,21 +25,69 @@ import java.util.Optional;
  */
 public interface ProductService {
     
+    /**
+     * Page size used when the caller does not ask for one.
+     */
+    int DEFAULT_PAGE_SIZE = 100;
+    
+    /**
+     * Upper bound for a single page, regardless of what the caller asks for.
+     */
+    int MAX_PAGE_SIZE = 1000;
+    
+    /**
+     * Maximum number of items accepted by a single batch request.
+     */
+    int MAX_BATCH_SIZE = 10_000;
+    
+    /**
+     * Maximum number of ids accepted by a single lookup.
+     */
+    int MAX_LOOKUP_SIZE = 1000;
+    
+    /**
+     * Number of failed items an import reports individually; later failures are only counted.
+     */
+    int MAX_IMPORT_ERRORS = 100;
+    
+    /**
+     * Version of the whole catalog, changed by every write; used as the ETag of list responses.
+     */
+    long getCatalogVersion();
+    
+    /**
+     * Count, price sum, extremes, average and price histogram of the catalog, kept up to date by every write.
+     */
+    CatalogStats getCatalogStats();
+    
     /**
      * Create a new product.
      */
     Product createProduct(Product product);
     
     /**
-     * Get all products.
+     * Get a page of products ordered by id, starting after the given cursor (null for the first page).
+     * Only the selected fields are guaranteed to be populated; see ProductField.
      */
-    List<Product> getAllProducts();
+    ProductPage getProducts(String after, int limit, Set<ProductField> fields);
+    
+    /**
+     * Stream all products ordered by id without materializing them in memory.
+     * The returned stream holds a database cursor and must be closed by the caller.
+     */
+    Stream<Product> streamAllProducts();
     
     /**
      * Get product by ID.
      */
     Optional<Product> getProductById(String id);
     
+    /**
+     * Get many products by id at once, in the requested order, with the ids that do not exist.
+     * Duplicate ids are resolved once.
+     */
+    ProductLookup lookupProducts(List<String> ids);
+    
     /**
      * Update an existing product.
      */
@@ -39,12 +99,45 @@ public interface ProductService {
     void deleteProduct(String id);
     
     /**
-     * Search products by name.
+     * Create many products, validating each one and writing them with unordered bulk writes.
+     */
+    BatchResult createProducts(List<Product> products);
+    
+    /**
+     * Update many products by id, validating each one and writing them with concurrent single-document updates.
+     */
+    BatchResult updateProducts(List<Product> products);
+    
+    /**
+     * Delete many products by id with concurrent single-document deletes.
+     */
+    BatchResult deleteProducts(List<String> ids);
+    
+    /**
+     * Insert every product of a stream of any length, one bulk write at a time, keeping their ids and timestamps
+     * (versions start again at 0). Null elements stand for input that could not be parsed and are counted as failed.
+     */
+    ImportResult importProducts(Iterator<Product> products);
+    
+    /**
+     * Search products by name, either by indexed prefix or ranked full-text match, one page at a time.
+     * A blank name returns the first page of the catalog for page 0, and nothing for later pages.
+     */
+    List<Product> searchProductsByName(String name, ProductSearchMode mode, int page, int size,
+                                       Set<ProductField> fields);
+    
+    /**
+     * Find products priced between min and max (inclusive), sorted by price, one page at a time.
      */
-    List<Product> searchProductsByName(String name);
+    List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                           Sort.Direction direction, int page, int size,
+                                           Set<ProductField> fields);
     
     /**
-     * Find products by price range.
+     * Find products matching the name search that are priced between min and max (inclusive), one page at a time,
+     * with the total number of such products and price stats of every name match regardless of the price range.
+     * The name is required.
      */
-    List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    ProductQueryResult queryProducts(String name, ProductSearchMode mode, BigDecimal minPrice, BigDecimal maxPrice,
+                                     int page, int size, Set<ProductField> fields);
 }
\ No newline at end of file
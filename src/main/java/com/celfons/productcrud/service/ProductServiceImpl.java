@@ -1,114 +1,545 @@
 package com.celfons.productcrud.service;
 
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.celfons.productcrud.concurrency.SingleFlight;
+import com.celfons.productcrud.concurrency.SubtaskScope;
+import com.celfons.productcrud.config.MetricsConfig;
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.BatchItemStatus;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.ImportResult;
 import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductLookup;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductQueryResult;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.repository.BulkWriteOutcome;
 import com.celfons.productcrud.repository.ProductRepository;
+import com.celfons.productcrud.repository.ProductUpdate;
+import com.celfons.productcrud.stats.CatalogStatsAccumulator;
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Implementation of ProductService interface.
  * Contains business logic for product operations.
  * Follows Single Responsibility Principle and Dependency Inversion Principle from SOLID.
+ * Backed by MongoDB; InMemoryProductService replaces it under the "inmemory" profile.
+ * Every operation is timed as product.service, tagged with the method name.
+ * Identical concurrent reads are coalesced into one query by SingleFlight; the catalog version is part
+ * of every key, so a read that starts after a write never joins a query that started before it.
+ * Every write also updates the in-memory catalog stats with the prices it added and removed.
+ * A composite query runs its independent parts in parallel on virtual threads through SubtaskScope.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Profile("!inmemory & !reactive")
 public class ProductServiceImpl implements ProductService {
     
+    private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
+    
+    /**
+     * Number of items written to MongoDB per chunk: one bulkWrite for inserts, concurrent single-document
+     * writes for updates and deletes.
+     */
+    static final int BULK_WRITE_CHUNK_SIZE = 1000;
+    
+    /**
+     * Largest number of significant digits a Decimal128 can hold.
+     */
+    private static final int MAX_PRICE_PRECISION = 34;
+    
+    /**
+     * An import logs its progress every this many bulk writes.
+     */
+    private static final int IMPORT_PROGRESS_INTERVAL = 100;
+    
+    /**
+     * Error of a batch item whose id an earlier item of the same update or delete batch already uses.
+     */
+    static final String DUPLICATE_ID_ERROR = "Product ID appears more than once in the batch";
+    
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+    private final SingleFlight singleFlight;
+    private final CatalogStatsAccumulator catalogStats;
+    private final Duration queryTimeout;
+    private final Duration statsTimeout;
     
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductCache productCache,
+                              CatalogVersion catalogVersion, SingleFlight singleFlight,
+                              CatalogStatsAccumulator catalogStats,
+                              @Value("${product.query.timeout:2s}") Duration queryTimeout,
+                              @Value("${product.query.stats-timeout:5s}") Duration statsTimeout) {
         this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
+        this.singleFlight = singleFlight;
+        this.catalogStats = catalogStats;
+        this.queryTimeout = queryTimeout;
+        this.statsTimeout = statsTimeout;
+    }
+    
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.current();
+    }
+    
+    @Override
+    public CatalogStats getCatalogStats() {
+        return catalogStats.snapshot();
     }
     
     @Override
     public Product createProduct(Product product) {
         validateProduct(product);
-        product.setCreatedAt(LocalDateTime.now());
-        product.setUpdatedAt(LocalDateTime.now());
-        return productRepository.save(product);
+        // A new document always starts at version 0; a client-supplied version would turn the save into an update
+        product.setVersion(null);
+        LocalDateTime now = LocalDateTime.now();
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        Product savedProduct = productRepository.save(product);
+        productCache.invalidate(savedProduct.getId());
+        catalogVersion.increment();
+        catalogStats.add(savedProduct.getPrice());
+        return savedProduct;
     }
     
     @Override
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ProductPage getProducts(String after, int limit, Set<ProductField> fields) {
+        if (limit < 1) {
+            throw ProductValidationException.of("Page limit must be at least 1");
+        }
+        Limit pageLimit = Limit.of(Math.min(limit, MAX_PAGE_SIZE));
+        List<Product> items = productRepository.findPage(
+                (after == null || after.isBlank()) ? null : after, pageLimit, fields);
+        return ProductPage.of(items, pageLimit.max());
+    }
+    
+    @Override
+    public Stream<Product> streamAllProducts() {
+        return productRepository.streamAllByOrderByIdAsc();
     }
     
     @Override
     public Optional<Product> getProductById(String id) {
         if (id == null || id.trim().isEmpty()) {
-            throw new IllegalArgumentException("Product ID cannot be null or empty");
+            throw ProductValidationException.of("Product ID cannot be null or empty");
         }
-        return productRepository.findById(id);
+        // Concurrent misses on the same id share one query, even with the cache disabled
+        return productCache.get(id, key -> singleFlight.execute("getProductById",
+                List.of(catalogVersion.current(), key), () -> productRepository.findById(key)));
+    }
+    
+    /**
+     * Serves cached products from memory and loads all the others with one $in query.
+     */
+    @Override
+    public ProductLookup lookupProducts(List<String> ids) {
+        Set<String> uniqueIds = validateLookup(ids);
+        Map<String, Product> found = productCache.getAll(uniqueIds, missing -> {
+            Map<String, Product> loaded = new HashMap<>();
+            productRepository.findAllById(missing).forEach(product -> loaded.put(product.getId(), product));
+            return loaded;
+        });
+        return ProductLookup.of(uniqueIds, found);
     }
     
+    /**
+     * Updates the product with a single findAndModify. When the request carries a version,
+     * a concurrent modification is reported as OptimisticLockingFailureException instead of being overwritten.
+     */
     @Override
     public Product updateProduct(String id, Product product) {
-        Optional<Product> existingProduct = getProductById(id);
-        if (existingProduct.isEmpty()) {
-            throw new IllegalArgumentException("Product with ID " + id + " not found");
+        if (id == null || id.trim().isEmpty()) {
+            throw ProductValidationException.of("Product ID cannot be null or empty");
         }
-        
         validateProduct(product);
+        product.setUpdatedAt(LocalDateTime.now());
         
-        Product productToUpdate = existingProduct.get();
-        productToUpdate.setName(product.getName());
-        productToUpdate.setDescription(product.getDescription());
-        productToUpdate.setPrice(product.getPrice());
-        productToUpdate.setUpdatedAt(LocalDateTime.now());
-        
-        return productRepository.save(productToUpdate);
+        Optional<ProductUpdate> update = productRepository.updateFields(id, product);
+        if (update.isEmpty()) {
+            // Only the failure path pays a second round trip to tell a version conflict from a missing product
+            if (product.getVersion() != null && productRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Product with ID " + id + " was modified concurrently");
+            }
+            throw ProductNotFoundException.INSTANCE;
+        }
+        productCache.invalidate(id);
+        catalogVersion.increment();
+        if (catalogStats.replace(update.get().previous().getPrice(), update.get().updated().getPrice())) {
+            refreshPriceExtremes();
+        }
+        return update.get().updated();
     }
     
     @Override
     public void deleteProduct(String id) {
-        if (!productRepository.existsById(id)) {
-            throw new IllegalArgumentException("Product with ID " + id + " not found");
+        Product deleted = productRepository.findAndDelete(id)
+                .orElseThrow(() -> ProductNotFoundException.INSTANCE);
+        productCache.invalidate(id);
+        catalogVersion.increment();
+        if (catalogStats.remove(deleted.getPrice())) {
+            refreshPriceExtremes();
+        }
+    }
+    
+    @Override
+    public BatchResult createProducts(List<Product> products) {
+        validateBatchSize(products);
+        return BatchResult.of(insert(products, false));
+    }
+    
+    @Override
+    public ImportResult importProducts(Iterator<Product> products) {
+        return importInChunks(products, chunk -> BatchResult.of(insert(chunk, true)));
+    }
+    
+    /**
+     * Validates and inserts the products with unordered bulk writes, assigning ids to products without one.
+     * When restoring, the timestamps the products already carry are kept.
+     */
+    private BatchItemResult[] insert(List<Product> products, boolean restore) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int index = 0; index < products.size(); index++) {
+            Product product = products.get(index);
+            String error = validationError(product);
+            if (error != null) {
+                results[index] = BatchItemResult.invalid(index, product == null ? null : product.getId(), error);
+                continue;
+            }
+            // Assign ids up front so every item can be reported without reading the documents back
+            if (product.getId() == null) {
+                product.setId(new ObjectId().toHexString());
+            }
+            if (!restore || product.getCreatedAt() == null) {
+                product.setCreatedAt(now);
+            }
+            if (!restore || product.getUpdatedAt() == null) {
+                product.setUpdatedAt(now);
+            }
+            product.setVersion(0L);
+            accepted.add(index);
+        }
+        writeInChunks(products, accepted, results, Product::getId,
+                productRepository::bulkInsert, BatchItemStatus.CREATED,
+                (product, previousPrice) -> {
+                    catalogStats.add(product.getPrice());
+                    return false;
+                });
+        return results;
+    }
+    
+    @Override
+    public BatchResult updateProducts(List<Product> products) {
+        validateBatchSize(products);
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int index = 0; index < products.size(); index++) {
+            Product product = products.get(index);
+            String error = validationError(product);
+            if (error == null && (product.getId() == null || product.getId().isBlank())) {
+                error = "Product ID cannot be null or empty";
+            }
+            if (error == null && !seenIds.add(product.getId())) {
+                // Concurrent writes cannot apply two updates of an id in order, nor report the second one
+                error = DUPLICATE_ID_ERROR;
+            }
+            if (error != null) {
+                results[index] = BatchItemResult.invalid(index, product == null ? null : product.getId(), error);
+                continue;
+            }
+            product.setUpdatedAt(now);
+            accepted.add(index);
         }
-        productRepository.deleteById(id);
+        writeInChunks(products, accepted, results, Product::getId,
+                productRepository::bulkUpdate, BatchItemStatus.UPDATED,
+                (product, previousPrice) -> catalogStats.replace(previousPrice, product.getPrice()));
+        return BatchResult.of(results);
     }
     
     @Override
-    public List<Product> searchProductsByName(String name) {
+    public BatchResult deleteProducts(List<String> ids) {
+        validateBatchSize(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int index = 0; index < ids.size(); index++) {
+            String id = ids.get(index);
+            if (id == null || id.isBlank()) {
+                results[index] = BatchItemResult.invalid(index, id, "Product ID cannot be null or empty");
+                continue;
+            }
+            if (!seenIds.add(id)) {
+                results[index] = BatchItemResult.invalid(index, id, DUPLICATE_ID_ERROR);
+                continue;
+            }
+            accepted.add(index);
+        }
+        writeInChunks(ids, accepted, results, Function.identity(),
+                productRepository::bulkDelete, BatchItemStatus.DELETED,
+                (id, previousPrice) -> catalogStats.remove(previousPrice));
+        return BatchResult.of(results);
+    }
+    
+    @Override
+    public List<Product> searchProductsByName(String name, ProductSearchMode mode, int page, int size,
+                                              Set<ProductField> fields) {
+        if (page < 0 || size < 1) {
+            throw ProductValidationException.of("Page must be zero or positive and size at least 1");
+        }
         if (name == null || name.trim().isEmpty()) {
-            return getAllProducts();
+            return page == 0 ? getProducts(null, size, fields).items() : List.of();
+        }
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+        String term = mode == ProductSearchMode.PREFIX ? Product.normalizeName(name) : name.trim();
+        return singleFlight.execute("searchProductsByName",
+                List.of(catalogVersion.current(), mode, term, pageRequest, fields),
+                () -> switch (mode) {
+                    case PREFIX -> productRepository.findByNamePrefix(term, pageRequest, fields);
+                    case TEXT -> productRepository.searchByNameText(term, pageRequest, fields);
+                });
+    }
+    
+    @Override
+    public List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Sort.Direction direction, int page, int size,
+                                                  Set<ProductField> fields) {
+        if (minPrice == null || maxPrice == null) {
+            throw ProductValidationException.of("Price range cannot contain null values");
+        }
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw ProductValidationException.of("Minimum price cannot be greater than maximum price");
+        }
+        if (page < 0 || size < 1) {
+            throw ProductValidationException.of("Page must be zero or positive and size at least 1");
         }
-        return productRepository.findByNameContainingIgnoreCase(name.trim());
+        // Sorting on (price, id) matches the compound price index, so the sort needs no in-memory stage
+        Sort sort = Sort.by(direction, "price", "id");
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), sort);
+        // BigDecimal equality is scale-sensitive, so key on the stripped values: 10 and 10.00 share a flight
+        return singleFlight.execute("findProductsByPriceRange",
+                List.of(catalogVersion.current(), minPrice.stripTrailingZeros(), maxPrice.stripTrailingZeros(),
+                        pageRequest, fields),
+                () -> productRepository.findByPriceRange(minPrice, maxPrice, pageRequest, fields));
     }
     
     @Override
-    public List<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+    public ProductQueryResult queryProducts(String name, ProductSearchMode mode, BigDecimal minPrice,
+                                            BigDecimal maxPrice, int page, int size, Set<ProductField> fields) {
+        validateQuery(name, minPrice, maxPrice, page, size);
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+        String term = mode == ProductSearchMode.PREFIX ? Product.normalizeName(name) : name.trim();
+        // Three independent queries: the response takes as long as the slowest, and a failure cancels the others
+        try (SubtaskScope scope = new SubtaskScope()) {
+            Supplier<List<Product>> items = scope.fork("items", queryTimeout, () ->
+                    productRepository.findByNameAndPriceRange(term, mode, minPrice, maxPrice, pageRequest, fields));
+            Supplier<Long> total = scope.fork("total", queryTimeout, () ->
+                    productRepository.countByNameAndPriceRange(term, mode, minPrice, maxPrice));
+            Supplier<CatalogStats> stats = scope.fork("stats", statsTimeout, () ->
+                    productRepository.aggregateStatsByName(term, mode, catalogStats.bucketStarts()));
+            scope.join();
+            return new ProductQueryResult(items.get(), total.get(), stats.get());
+        }
+    }
+    
+    /**
+     * Sends the accepted items to MongoDB in unordered bulk writes of BULK_WRITE_CHUNK_SIZE
+     * and records a result for each of them at its original position.
+     * Each written item is passed to recordStats with its previous price; it returns true when
+     * the price extremes have to be read again. The stats deltas assume one write per document, so an id
+     * is recorded at most once per call even if a caller lets it through twice.
+     */
+    private <T> void writeInChunks(List<T> items, List<Integer> accepted, BatchItemResult[] results,
+                                   Function<T, String> idOf, Function<List<T>, BulkWriteOutcome> bulkWrite,
+                                   BatchItemStatus successStatus, BiPredicate<T, BigDecimal> recordStats) {
+        boolean extremesChanged = false;
+        Set<String> recordedIds = new HashSet<>();
+        for (int from = 0; from < accepted.size(); from += BULK_WRITE_CHUNK_SIZE) {
+            List<Integer> chunkIndexes = accepted.subList(from, Math.min(from + BULK_WRITE_CHUNK_SIZE, accepted.size()));
+            List<T> chunk = chunkIndexes.stream().map(items::get).toList();
+            BulkWriteOutcome outcome;
+            try {
+                outcome = bulkWrite.apply(chunk);
+            } finally {
+                // Part of the chunk may have been written even when the bulk write throws
+                catalogVersion.increment();
+            }
+            for (int position = 0; position < chunk.size(); position++) {
+                int index = chunkIndexes.get(position);
+                String id = idOf.apply(chunk.get(position));
+                if (outcome.missing().contains(position)) {
+                    results[index] = BatchItemResult.notFound(index, id);
+                } else if (outcome.failures().containsKey(position)) {
+                    results[index] = BatchItemResult.failed(index, id, outcome.failures().get(position));
+                } else {
+                    results[index] = BatchItemResult.succeeded(index, id, successStatus);
+                    if (recordedIds.add(id)) {
+                        BigDecimal previousPrice = outcome.previousPrices().get(position);
+                        extremesChanged |= recordStats.test(chunk.get(position), previousPrice);
+                    }
+                }
+                productCache.invalidate(id);
+            }
+        }
+        if (extremesChanged) {
+            refreshPriceExtremes();
+        }
+    }
+    
+    /**
+     * Takes products from the iterator BULK_WRITE_CHUNK_SIZE at a time and inserts each chunk before reading
+     * the next, so memory use does not depend on the number of products. Keeps the first MAX_IMPORT_ERRORS
+     * failed items, indexed by their position in the stream, and logs progress as it goes.
+     */
+    static ImportResult importInChunks(Iterator<Product> products, Function<List<Product>, BatchResult> insertChunk) {
+        long started = System.nanoTime();
+        long read = 0;
+        long imported = 0;
+        List<BatchItemResult> errors = new ArrayList<>();
+        int chunks = 0;
+        while (products.hasNext()) {
+            List<Product> chunk = new ArrayList<>(BULK_WRITE_CHUNK_SIZE);
+            while (chunk.size() < BULK_WRITE_CHUNK_SIZE && products.hasNext()) {
+                chunk.add(products.next());
+            }
+            BatchResult result = insertChunk.apply(chunk);
+            for (BatchItemResult item : result.items()) {
+                if (!item.isSuccess() && errors.size() < MAX_IMPORT_ERRORS) {
+                    errors.add(new BatchItemResult(Math.toIntExact(read + item.index()), item.id(),
+                            item.status(), item.error()));
+                }
+            }
+            read += chunk.size();
+            imported += result.succeeded();
+            if (++chunks % IMPORT_PROGRESS_INTERVAL == 0) {
+                log.info("Import in progress: {} products read, {} imported", read, imported);
+            }
+        }
+        log.info("Imported {} of {} products in {} ms", imported, read, (System.nanoTime() - started) / 1_000_000);
+        return new ImportResult(read, imported, read - imported, errors);
+    }
+    
+    /**
+     * Reads the lowest and highest price again after the product holding one of them changed or went away.
+     * Two single-entry scans of the price index.
+     */
+    private void refreshPriceExtremes() {
+        catalogStats.updateExtremes(productRepository.findExtremePrice(Sort.Direction.ASC).orElse(null),
+                productRepository.findExtremePrice(Sort.Direction.DESC).orElse(null));
+    }
+    
+    static void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw ProductValidationException.of("Batch cannot be null or empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw ProductValidationException.of("Batch cannot contain more than " + MAX_BATCH_SIZE + " items");
+        }
+    }
+    
+    /**
+     * Checks the ids of a lookup and returns them without duplicates, in request order.
+     */
+    static Set<String> validateLookup(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw ProductValidationException.of("Lookup cannot be null or empty");
+        }
+        if (ids.size() > MAX_LOOKUP_SIZE) {
+            throw ProductValidationException.of("Lookup cannot contain more than " + MAX_LOOKUP_SIZE + " ids");
+        }
+        if (ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            throw ProductValidationException.of("Product ID cannot be null or empty");
+        }
+        return new LinkedHashSet<>(ids);
+    }
+    
+    /**
+     * Rejects a composite query without a name, with an invalid price range or with an invalid page.
+     */
+    static void validateQuery(String name, BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        if (name == null || name.isBlank()) {
+            throw ProductValidationException.of("Name cannot be null or empty");
+        }
         if (minPrice == null || maxPrice == null) {
-            throw new IllegalArgumentException("Price range cannot contain null values");
+            throw ProductValidationException.of("Price range cannot contain null values");
         }
         if (minPrice.compareTo(maxPrice) > 0) {
-            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
+            throw ProductValidationException.of("Minimum price cannot be greater than maximum price");
+        }
+        if (page < 0 || size < 1) {
+            throw ProductValidationException.of("Page must be zero or positive and size at least 1");
         }
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
     }
     
     /**
      * Validates product data following business rules.
      */
     private void validateProduct(Product product) {
+        String error = validationError(product);
+        if (error != null) {
+            throw ProductValidationException.of(error);
+        }
+    }
+    
+    /**
+     * Returns the first business rule the product violates, or null when it is valid.
+     */
+    static String validationError(Product product) {
         if (product == null) {
-            throw new IllegalArgumentException("Product cannot be null");
+            return "Product cannot be null";
         }
         if (product.getName() == null || product.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Product name cannot be null or empty");
+            return "Product name cannot be null or empty";
         }
         if (product.getDescription() == null || product.getDescription().trim().isEmpty()) {
-            throw new IllegalArgumentException("Product description cannot be null or empty");
+            return "Product description cannot be null or empty";
         }
         if (product.getPrice() == null) {
-            throw new IllegalArgumentException("Product price cannot be null");
+            return "Product price cannot be null";
         }
         if (product.getPrice().compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Product price cannot be negative");
+            return "Product price cannot be negative";
+        }
+        if (product.getPrice().precision() > MAX_PRICE_PRECISION) {
+            return "Product price cannot have more than " + MAX_PRICE_PRECISION + " significant digits";
         }
+        return null;
     }
 }
\ No newline at end of file
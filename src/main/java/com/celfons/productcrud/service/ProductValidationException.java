@@ -0,0 +1,30 @@
+package com.celfons.productcrud.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signals a request that breaks a business rule; answered with 400, like IllegalArgumentException.
+ * Rejecting bad input is an expected, frequent outcome, so there is one shared instance per message:
+ * after the first rejection of each rule, an invalid request allocates nothing to report it.
+ * Shared instances must not carry per-throw state, so the stack trace and suppression are both disabled;
+ * a JDK exception type such as IllegalArgumentException cannot turn suppression off, which is why this
+ * extends RuntimeException. Only pass compile-time constant messages, which keeps the set bounded;
+ * a message built from request data belongs in a plain IllegalArgumentException.
+ */
+public final class ProductValidationException extends RuntimeException {
+    
+    private static final Map<String, ProductValidationException> INSTANCES = new ConcurrentHashMap<>();
+    
+    private ProductValidationException(String message) {
+        super(message, null, false, false);
+    }
+    
+    /**
+     * The shared exception for the given constant message.
+     */
+    public static ProductValidationException of(String message) {
+        ProductValidationException instance = INSTANCES.get(message);
+        return instance != null ? instance : INSTANCES.computeIfAbsent(message, ProductValidationException::new);
+    }
+}
\ No newline at end of file
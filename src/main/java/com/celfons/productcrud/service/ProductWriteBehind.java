@@ -0,0 +1,245 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue for product updates, used by PUT /api/products/{id} when the client sends
+ * "Prefer: respond-async". Accepted updates are held in memory, coalesced by id (the latest update wins),
+ * and written with ProductService.updateProducts once flush-size updates are pending or every flush-interval,
+ * so many updates share one batch write instead of each waiting for its own majority acknowledgement.
+ * Updates are last-writer-wins: they carry no version, and a failed flush is retried on the next one.
+ * Pending updates are visible through pending(id) until their batch write completes. On shutdown the queue
+ * stops accepting updates and is drained before the database client closes; updates still pending when the
+ * process dies without a graceful shutdown are lost.
+ */
+@Component
+@Profile("!inmemory & !reactive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "product.write-behind.enabled", havingValue = "true")
+public class ProductWriteBehind {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductWriteBehind.class);
+    
+    /**
+     * Consecutive failed flushes after which shutdown gives up on the remaining updates.
+     */
+    private static final int DRAIN_ATTEMPTS = 3;
+    
+    private final ProductService productService;
+    private final int capacity;
+    private final int flushSize;
+    private final Duration flushInterval;
+    private final Map<String, Product> pending = new ConcurrentHashMap<>();
+    private final Map<String, Product> flushing = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Counter written;
+    private final Counter rejected;
+    private final Counter dropped;
+    private volatile boolean closed;
+    private Thread worker;
+    
+    @Autowired
+    public ProductWriteBehind(ProductService productService,
+                              @Value("${product.write-behind.capacity:10000}") int capacity,
+                              @Value("${product.write-behind.flush-size:500}") int flushSize,
+                              @Value("${product.write-behind.flush-interval:200ms}") Duration flushInterval,
+                              MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.capacity = capacity;
+        this.flushSize = Math.min(flushSize, ProductService.MAX_BATCH_SIZE);
+        this.flushInterval = flushInterval;
+        Gauge.builder("product.write-behind.pending", pending, Map::size)
+                .description("Accepted updates not yet written to the database")
+                .register(meterRegistry);
+        this.written = Counter.builder("product.write-behind.writes")
+                .description("Pending updates leaving the queue, written or dropped")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("product.write-behind.writes")
+                .description("Pending updates leaving the queue, written or dropped")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("product.write-behind.rejected")
+                .description("Updates rejected because the write-behind queue was full")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker = Thread.ofVirtual().name("product-write-behind").start(this::run);
+    }
+    
+    /**
+     * Accepts an update for later writing and returns the product as it will read once written
+     * (its version is assigned by the write).
+     *
+     * @throws ProductValidationException when the product is invalid
+     * @throws ProductNotFoundException when the product does not exist
+     * @throws IllegalStateException when the queue is full or shutting down
+     */
+    public Product submit(String id, Product product) {
+        String error = ProductServiceImpl.validationError(product);
+        if (error != null) {
+            throw ProductValidationException.of(error);
+        }
+        Product current = pending(id).or(() -> productService.getProductById(id))
+                .orElseThrow(() -> ProductNotFoundException.INSTANCE);
+        Product accepted = new Product(id, product.getName(), Product.normalizeName(product.getName()),
+                product.getDescription(), product.getPrice(), current.getCreatedAt(), LocalDateTime.now(), null);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-behind queue is shutting down");
+            }
+            // Coalescing into an already pending id never counts against the capacity
+            if (!pending.containsKey(id) && pending.size() >= capacity) {
+                rejected.increment();
+                throw new IllegalStateException("Write-behind queue is full");
+            }
+            pending.put(id, accepted);
+            if (pending.size() >= flushSize) {
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return accepted;
+    }
+    
+    /**
+     * The latest accepted update of a product that has not been written yet.
+     */
+    public Optional<Product> pending(String id) {
+        Product product = pending.get(id);
+        return Optional.ofNullable(product != null ? product : flushing.get(id));
+    }
+    
+    /**
+     * Forgets the pending update of a product, so a synchronous write made after it is not overwritten
+     * by the next flush. An update already being written is not affected.
+     */
+    public void discard(String id) {
+        pending.remove(id);
+    }
+    
+    @PreDestroy
+    public void drain() {
+        lock.lock();
+        try {
+            closed = true;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            try {
+                // Lets a flush in progress finish, so the drain below never races it
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int failedAttempts = 0;
+        while (!pending.isEmpty() && failedAttempts < DRAIN_ATTEMPTS) {
+            failedAttempts = flush() ? 0 : failedAttempts + 1;
+        }
+        if (!pending.isEmpty()) {
+            dropped.increment(pending.size());
+            log.error("Dropped {} pending product updates that could not be written: {}",
+                    pending.size(), pending.keySet());
+        }
+    }
+    
+    private void run() {
+        try {
+            while (!closed) {
+                awaitBatch();
+                if (!closed) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Waits until flush-size updates are pending, flush-interval has passed or the queue is closed.
+     */
+    private void awaitBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = flushInterval.toNanos();
+            while (!closed && pending.size() < flushSize && remaining > 0) {
+                remaining = batchReady.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Writes up to one batch of pending updates. Returns false when the batch write failed
+     * and the updates were put back for the next flush.
+     */
+    boolean flush() {
+        List<Product> batch = new ArrayList<>();
+        for (Product product : pending.values()) {
+            if (batch.size() == ProductService.MAX_BATCH_SIZE) {
+                break;
+            }
+            // Published as flushing before it leaves pending, so readers never miss it; a newer update
+            // accepted meanwhile stays pending for the next flush
+            flushing.put(product.getId(), product);
+            pending.remove(product.getId(), product);
+            batch.add(product);
+        }
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            BatchResult result = productService.updateProducts(batch);
+            written.increment(result.succeeded());
+            for (BatchItemResult item : result.items()) {
+                if (!item.isSuccess()) {
+                    dropped.increment();
+                    log.warn("Dropped pending update of product {}: {} {}", item.id(), item.status(), item.error());
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} pending product updates, retrying: {}", batch.size(), e.getMessage());
+            batch.forEach(product -> pending.putIfAbsent(product.getId(), product));
+            return false;
+        } finally {
+            batch.forEach(product -> flushing.remove(product.getId(), product));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductSearchMode;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of ProductService for the WebFlux stack.
+ * Errors are signalled the same way: ProductValidationException or IllegalArgumentException for invalid input,
+ * ProductNotFoundException for missing products, OptimisticLockingFailureException for version conflicts.
+ */
+public interface ReactiveProductService {
+    
+    /**
+     * Create a new product.
+     */
+    Mono<Product> createProduct(Product product);
+    
+    /**
+     * Get a page of products ordered by id, starting after the given cursor (null for the first page).
+     */
+    Flux<Product> getProducts(String after, int limit);
+    
+    /**
+     * Stream all products ordered by id, with backpressure from the subscriber.
+     */
+    Flux<Product> streamAllProducts();
+    
+    /**
+     * Get product by ID.
+     */
+    Mono<Product> getProductById(String id);
+    
+    /**
+     * Update an existing product with a single findAndModify.
+     */
+    Mono<Product> updateProduct(String id, Product product);
+    
+    /**
+     * Delete a product by ID.
+     */
+    Mono<Void> deleteProduct(String id);
+    
+    /**
+     * Search products by name, either by indexed prefix or ranked full-text match.
+     * A blank name returns the first page of the catalog for page 0, and nothing for later pages.
+     */
+    Flux<Product> searchProductsByName(String name, ProductSearchMode mode, int page, int size);
+    
+    /**
+     * Find products priced between min and max (inclusive), sorted by price.
+     */
+    Flux<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                           Sort.Direction direction, int page, int size);
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.repository.ProductQueries;
+import com.celfons.productcrud.repository.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of ReactiveProductService on the reactive MongoDB driver.
+ * Applies the same validation and query shapes as ProductServiceImpl without blocking any thread.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+    
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    
+    @Autowired
+    public ReactiveProductServiceImpl(ReactiveProductRepository productRepository,
+                                      ReactiveMongoTemplate mongoTemplate) {
+        this.productRepository = productRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public Mono<Product> createProduct(Product product) {
+        return validated(product).flatMap(valid -> {
+            LocalDateTime now = LocalDateTime.now();
+            valid.setVersion(null);
+            valid.setCreatedAt(now);
+            valid.setUpdatedAt(now);
+            return productRepository.save(valid);
+        });
+    }
+    
+    @Override
+    public Flux<Product> getProducts(String after, int limit) {
+        if (limit < 1) {
+            return Flux.error(new IllegalArgumentException("Page limit must be at least 1"));
+        }
+        Query query = ProductQueries.page((after == null || after.isBlank()) ? null : after,
+                Limit.of(Math.min(limit, ProductService.MAX_PAGE_SIZE)));
+        return mongoTemplate.find(query, Product.class);
+    }
+    
+    @Override
+    public Flux<Product> streamAllProducts() {
+        return productRepository.findAll(Sort.by("id"));
+    }
+    
+    @Override
+    public Mono<Product> getProductById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Product ID cannot be null or empty"));
+        }
+        return productRepository.findById(id);
+    }
+    
+    @Override
+    public Mono<Product> updateProduct(String id, Product product) {
+        if (id == null || id.trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Product ID cannot be null or empty"));
+        }
+        return validated(product).flatMap(valid -> {
+            valid.setUpdatedAt(LocalDateTime.now());
+            return mongoTemplate.findAndModify(ProductQueries.byIdAndVersion(id, valid.getVersion()),
+                            ProductQueries.fieldUpdate(valid), FindAndModifyOptions.options().returnNew(true),
+                            Product.class)
+                    .switchIfEmpty(Mono.defer(() -> updateMissed(id, valid.getVersion())));
+        });
+    }
+    
+    @Override
+    public Mono<Void> deleteProduct(String id) {
+        return mongoTemplate.remove(ProductQueries.byId(id), Product.class)
+                .flatMap(result -> result.getDeletedCount() > 0
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(ProductNotFoundException.INSTANCE));
+    }
+    
+    @Override
+    public Flux<Product> searchProductsByName(String name, ProductSearchMode mode, int page, int size) {
+        if (page < 0 || size < 1) {
+            return Flux.error(new IllegalArgumentException("Page must be zero or positive and size at least 1"));
+        }
+        if (name == null || name.trim().isEmpty()) {
+            return page == 0 ? getProducts(null, size) : Flux.empty();
+        }
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, ProductService.MAX_PAGE_SIZE));
+        Query query = switch (mode) {
+            case PREFIX -> ProductQueries.namePrefix(Product.normalizeName(name), pageRequest);
+            case TEXT -> ProductQueries.nameText(name.trim(), pageRequest);
+        };
+        return mongoTemplate.find(query, Product.class);
+    }
+    
+    @Override
+    public Flux<Product> findProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Sort.Direction direction, int page, int size) {
+        if (minPrice == null || maxPrice == null) {
+            return Flux.error(new IllegalArgumentException("Price range cannot contain null values"));
+        }
+        if (minPrice.compareTo(maxPrice) > 0) {
+            return Flux.error(new IllegalArgumentException("Minimum price cannot be greater than maximum price"));
+        }
+        if (page < 0 || size < 1) {
+            return Flux.error(new IllegalArgumentException("Page must be zero or positive and size at least 1"));
+        }
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, ProductService.MAX_PAGE_SIZE),
+                Sort.by(direction, "price", "id"));
+        return mongoTemplate.find(ProductQueries.priceRange(minPrice, maxPrice, pageRequest), Product.class);
+    }
+    
+    /**
+     * Tells a version conflict from a missing product; only runs when the update matched nothing.
+     */
+    private Mono<Product> updateMissed(String id, Long version) {
+        Mono<Boolean> conflict = version == null ? Mono.just(false) : productRepository.existsById(id);
+        return conflict.flatMap(exists -> Mono.error(exists
+                ? new OptimisticLockingFailureException("Product with ID " + id + " was modified concurrently")
+                : ProductNotFoundException.INSTANCE));
+    }
+    
+    private static Mono<Product> validated(Product product) {
+        String error = ProductServiceImpl.validationError(product);
+        return error == null ? Mono.just(product) : Mono.error(ProductValidationException.of(error));
+    }
+}
\ No newline at end of file
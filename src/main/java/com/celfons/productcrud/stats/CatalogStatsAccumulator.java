@@ -0,0 +1,171 @@
+package com.celfons.productcrud.stats;
+
+import com.celfons.productcrud.model.CatalogStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory summary of the catalog prices, updated by every write so that reading the stats costs nothing.
+ * Count, sum and histogram are maintained exactly from the prices added and removed. The minimum and maximum
+ * only move outwards on their own: removing the current extreme reports it, and the caller supplies the new
+ * extremes (from an index) with updateExtremes. A seed from a full aggregation replaces everything.
+ * Callers report each written document once: batches naming an id twice are rejected before they are written,
+ * since a doubled delta would skew the stats until the next reseed.
+ * The last snapshot is kept until the next change, so repeated reads return the same instance.
+ */
+@Component
+public class CatalogStatsAccumulator {
+    
+    private final BigDecimal[] bounds;
+    private final long[] buckets;
+    private long count;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal min;
+    private BigDecimal max;
+    private volatile CatalogStats snapshot;
+    
+    /**
+     * Buckets start at zero and at every bound; the last one has no upper limit.
+     */
+    @Autowired
+    public CatalogStatsAccumulator(
+            @Value("${product.stats.price-buckets:10,50,100,500,1000}") List<BigDecimal> bounds) {
+        if (bounds.isEmpty() || bounds.get(0).signum() <= 0) {
+            throw new IllegalArgumentException("Price bucket bounds must be positive");
+        }
+        for (int i = 1; i < bounds.size(); i++) {
+            if (bounds.get(i).compareTo(bounds.get(i - 1)) <= 0) {
+                throw new IllegalArgumentException("Price bucket bounds must be in ascending order");
+            }
+        }
+        this.bounds = bounds.toArray(BigDecimal[]::new);
+        this.buckets = new long[bounds.size() + 1];
+    }
+    
+    /**
+     * Lower bounds of the histogram buckets, starting at zero, as used by the aggregation seed.
+     */
+    public List<BigDecimal> bucketStarts() {
+        List<BigDecimal> starts = new ArrayList<>(bounds.length + 1);
+        starts.add(BigDecimal.ZERO);
+        starts.addAll(Arrays.asList(bounds));
+        return starts;
+    }
+    
+    public CatalogStats snapshot() {
+        CatalogStats current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = buildSnapshot();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Replaces the summary with the result of a full aggregation. The seed histogram must use bucketStarts.
+     */
+    public synchronized void reset(CatalogStats seed) {
+        if (seed.priceHistogram().size() != buckets.length) {
+            throw new IllegalArgumentException("Seed histogram does not match the configured buckets");
+        }
+        count = seed.count();
+        sum = seed.priceSum() == null ? BigDecimal.ZERO : seed.priceSum();
+        min = seed.minPrice();
+        max = seed.maxPrice();
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = seed.priceHistogram().get(i).count();
+        }
+        snapshot = null;
+    }
+    
+    public synchronized void add(BigDecimal price) {
+        if (price == null) {
+            return;
+        }
+        count++;
+        sum = sum.add(price);
+        buckets[bucketOf(price)]++;
+        if (min == null || price.compareTo(min) < 0) {
+            min = price;
+        }
+        if (max == null || price.compareTo(max) > 0) {
+            max = price;
+        }
+        snapshot = null;
+    }
+    
+    /**
+     * Removes one product priced at the given price.
+     * Returns true when it may have been the last one at the minimum or maximum, in which case
+     * updateExtremes should be called with the actual extremes.
+     */
+    public synchronized boolean remove(BigDecimal price) {
+        if (price == null || count == 0) {
+            return false;
+        }
+        count--;
+        sum = sum.subtract(price);
+        int bucket = bucketOf(price);
+        buckets[bucket] = Math.max(0, buckets[bucket] - 1);
+        snapshot = null;
+        if (count == 0) {
+            sum = BigDecimal.ZERO;
+            min = null;
+            max = null;
+            return false;
+        }
+        return price.compareTo(min) == 0 || price.compareTo(max) == 0;
+    }
+    
+    /**
+     * Moves one product from the old price to the new one. Returns true like remove.
+     */
+    public synchronized boolean replace(BigDecimal oldPrice, BigDecimal newPrice) {
+        if (oldPrice != null && newPrice != null && oldPrice.compareTo(newPrice) == 0) {
+            return false;
+        }
+        boolean extremeRemoved = remove(oldPrice);
+        add(newPrice);
+        return extremeRemoved;
+    }
+    
+    /**
+     * Sets the minimum and maximum read from the data itself, after remove reported a removed extreme.
+     */
+    public synchronized void updateExtremes(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+        snapshot = null;
+    }
+    
+    private int bucketOf(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < bounds.length && price.compareTo(bounds[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+    
+    private CatalogStats buildSnapshot() {
+        List<CatalogStats.PriceBucket> histogram = new ArrayList<>(buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            BigDecimal from = i == 0 ? BigDecimal.ZERO : bounds[i - 1];
+            BigDecimal to = i < bounds.length ? bounds[i] : null;
+            histogram.add(new CatalogStats.PriceBucket(from, to, buckets[i]));
+        }
+        BigDecimal average = count == 0 ? null : sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+        return new CatalogStats(count, sum, min, max, average, List.copyOf(histogram));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.celfons.productcrud.stats;
+
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Seeds the catalog stats from a full aggregation once the application is ready, then again at a fixed interval.
+ * Between seeds the stats follow the writes made through this instance; the periodic seed brings in writes
+ * made by other instances or directly in the database, and corrects writes that raced the previous seed.
+ * Runs on a virtual thread so an unreachable database never delays or fails startup.
+ */
+@Component
+@Profile("!inmemory & !reactive")
+public class CatalogStatsSeeder {
+    
+    private static final Logger log = LoggerFactory.getLogger(CatalogStatsSeeder.class);
+    
+    private final ProductRepository productRepository;
+    private final CatalogStatsAccumulator catalogStats;
+    private final Duration interval;
+    private Thread worker;
+    
+    @Autowired
+    public CatalogStatsSeeder(ProductRepository productRepository, CatalogStatsAccumulator catalogStats,
+                              @Value("${product.stats.reseed-interval:5m}") Duration interval) {
+        this.productRepository = productRepository;
+        this.catalogStats = catalogStats;
+        this.interval = interval;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker = Thread.ofVirtual().name("catalog-stats-seeder").start(this::run);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+    
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                seed();
+                Thread.sleep(interval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    void seed() {
+        try {
+            long started = System.nanoTime();
+            CatalogStats stats = productRepository.aggregateStats(catalogStats.bucketStarts());
+            catalogStats.reset(stats);
+            log.debug("Seeded catalog stats over {} products in {} ms", stats.count(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Could not seed catalog stats: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.celfons.productcrud.sync;
+
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.celfons.productcrud.model.Product;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the MongoDB change stream of the products collection so that writes made by any instance reach the
+ * in-process state of this one: the product cache entry is evicted and the catalog version is bumped (which also
+ * retires ETags and coalescing keys).
+ * The resume token is kept in memory only, to reconnect without gaps after a transient failure: the state it
+ * protects is in memory too, so every start begins from the present and drops whatever the cache holds.
+ * Change streams need a replica set (Atlas always is one).
+ */
+@Component
+@Profile("!inmemory & !reactive")
+@ConditionalOnProperty(name = "product.sync.enabled", havingValue = "true")
+public class ProductChangeStreamListener {
+    
+    // ChangeStreamHistoryLost: the resume token is older than the oldest oplog entry
+    private static final int HISTORY_LOST = 286;
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeStreamListener.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+    private final Duration maxAwaitTime;
+    private final Duration retryDelay;
+    private volatile boolean running = true;
+    private BsonDocument resumeToken;
+    private Thread worker;
+    
+    @Autowired
+    public ProductChangeStreamListener(MongoTemplate mongoTemplate,
+                                       ProductCache productCache,
+                                       CatalogVersion catalogVersion,
+                                       @Value("${product.sync.max-await-time:1s}") Duration maxAwaitTime,
+                                       @Value("${product.sync.retry-delay:5s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
+        this.maxAwaitTime = maxAwaitTime;
+        this.retryDelay = retryDelay;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker = Thread.ofVirtual().name("product-change-stream").start(this::run);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+    
+    void run() {
+        while (running) {
+            try {
+                follow();
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() != HISTORY_LOST) {
+                    log.warn("Product change stream failed, retrying in {}: {}", retryDelay, e.getMessage());
+                    pause();
+                    continue;
+                }
+                log.warn("Product change stream history lost, resynchronizing from now");
+                resumeToken = null;
+            } catch (MongoException | IllegalStateException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Product change stream failed, retrying in {}: {}", retryDelay, e.getMessage());
+                pause();
+            }
+        }
+    }
+    
+    private void follow() {
+        String collection = mongoTemplate.getCollectionName(Product.class);
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch()
+                .maxAwaitTime(maxAwaitTime.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        } else {
+            // Nothing to resume from: a cold start, or changes were lost
+            resync();
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            log.info("Following product changes {}", resumeToken != null ? "from the last one applied" : "from now");
+            while (running) {
+                ChangeStreamDocument<Document> event = cursor.tryNext();
+                if (event == null) {
+                    // Idle for maxAwaitTime: the post-batch token keeps a reconnect inside the oplog window
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                    continue;
+                }
+                if (!apply(event.getOperationType(), idOf(event.getDocumentKey()))) {
+                    // The stream is invalidated after a drop or rename: start again from the present
+                    resumeToken = null;
+                    return;
+                }
+                resumeToken = event.getResumeToken();
+            }
+        }
+    }
+    
+    /**
+     * Applies one change to the in-process state. Returns false when the stream cannot continue.
+     */
+    boolean apply(OperationType operation, String id) {
+        switch (operation) {
+            case INSERT, UPDATE, REPLACE, DELETE -> {
+                productCache.invalidate(id);
+                catalogVersion.increment();
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                resync();
+                return false;
+            }
+            default -> {
+                // Index, collection-option and other DDL events do not change products
+            }
+        }
+        return true;
+    }
+    
+    private static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        // Ids that look like ObjectIds are stored as ObjectIds by Spring Data
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+    
+    private void resync() {
+        productCache.invalidateAll();
+        catalogVersion.increment();
+    }
+    
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.celfons.productcrud.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MAX_LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_LimitReached_RejectsUntilReleased() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, MAX_LATENCY);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(0, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_FastSuccessUnderLoad_IncreasesLimitByOne() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, MAX_LATENCY);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        // Act
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+
+        // Assert
+        assertEquals(5, limiter.getLimit());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void release_FastSuccessWhileIdle_KeepsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, 0.5, MAX_LATENCY);
+        limiter.tryAcquire();
+
+        // Act
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5), false);
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void release_SlowOrFailedRequest_BacksOffDownToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 3, 10, 0.5, MAX_LATENCY);
+
+        // Act & Assert
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertEquals(4, limiter.getLimit());
+        limiter.tryAcquire();
+        limiter.release(0, true);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_InvalidLimits_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 10, 20, 0.5, MAX_LATENCY));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 20, 1.5, MAX_LATENCY));
+    }
+}
@@ -0,0 +1,124 @@
+package com.celfons.productcrud.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(true, meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentIdenticalCalls_ShareOneExecution() throws Exception {
+        // Arrange
+        int callers = 20;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(executor.submit(() -> singleFlight.execute("op", "key", () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "value";
+            })));
+            leaderStarted.await();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("op", "key", () -> {
+                    executions.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // Give the followers time to find the leader's flight before it completes
+            while (meterRegistry.counter(SingleFlight.METRIC_NAME, "operation", "op", "result", "coalesced").count()
+                    < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.counter(SingleFlight.METRIC_NAME,
+                "operation", "op", "result", "executed").count());
+    }
+
+    @Test
+    void execute_LeaderFails_FollowersSeeSameException() throws Exception {
+        // Arrange
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("op", "key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+            leaderStarted.await();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("op", "key", () -> "unused"));
+            while (meterRegistry.counter(SingleFlight.METRIC_NAME,
+                    "operation", "op", "result", "coalesced").count() < 1) {
+                Thread.sleep(5);
+            }
+
+            // Act
+            release.countDown();
+
+            // Assert
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+            assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        }
+    }
+
+    @Test
+    void execute_SequentialCalls_RunEachTime() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("op", "key", executions::incrementAndGet);
+        singleFlight.execute("op", "key", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
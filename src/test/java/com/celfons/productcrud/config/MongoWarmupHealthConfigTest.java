@@ -0,0 +1,64 @@
+package com.celfons.productcrud.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MongoWarmupHealthConfig.
+ */
+class MongoWarmupHealthConfigTest {
+
+    @Mock
+    private HealthEndpointGroup primary;
+
+    @Mock
+    private HealthEndpointGroup readiness;
+
+    @Mock
+    private HealthEndpointGroup liveness;
+
+    private HealthEndpointGroups groups;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(primary.isMember(anyString())).thenReturn(true);
+        when(readiness.isMember("readinessState")).thenReturn(true);
+        when(liveness.isMember("livenessState")).thenReturn(true);
+        groups = MongoWarmupHealthConfig.readinessOnly(
+                HealthEndpointGroups.of(primary, Map.of("readiness", readiness, "liveness", liveness)));
+    }
+
+    @Test
+    void readinessOnly_RootAggregate_LeavesOutWarmUp() {
+        // Act & Assert
+        assertFalse(groups.getPrimary().isMember("mongoWarmup"));
+        assertTrue(groups.getPrimary().isMember("readinessState"));
+        assertTrue(groups.getPrimary().isMember("diskSpace"));
+    }
+
+    @Test
+    void readinessOnly_ReadinessGroup_AddsWarmUpToConfiguredMembers() {
+        // Act & Assert
+        assertTrue(groups.get("readiness").isMember("mongoWarmup"));
+        assertTrue(groups.get("readiness").isMember("readinessState"));
+        assertFalse(groups.get("readiness").isMember("diskSpace"));
+    }
+
+    @Test
+    void readinessOnly_OtherGroups_AreUnchanged() {
+        // Act & Assert
+        assertSame(liveness, groups.get("liveness"));
+        assertFalse(groups.get("liveness").isMember("mongoWarmup"));
+    }
+}
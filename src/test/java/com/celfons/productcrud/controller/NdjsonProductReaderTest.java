@@ -0,0 +1,90 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.BatchItemStatus;
+import com.celfons.productcrud.model.ImportResult;
+import com.celfons.productcrud.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NdjsonProductReader.
+ */
+class NdjsonProductReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_BlankAndUnparsableLines_SkipsBlanksAndReportsLineNumbers() {
+        // Arrange
+        String body = """
+                {"name":"Laptop","description":"Fast","price":10.00}
+
+                {"name":"Mouse",
+                {"name":"Cable","description":"Long","price":2.50}
+                """;
+        NdjsonProductReader reader = reader(body);
+
+        // Act
+        List<Product> products = new ArrayList<>();
+        reader.forEachRemaining(products::add);
+        ImportResult result = reader.withParseErrors(new ImportResult(3, 2, 1,
+                List.of(BatchItemResult.invalid(1, null, "Product cannot be null"))));
+
+        // Assert
+        assertEquals(3, products.size());
+        assertEquals("Laptop", products.get(0).getName());
+        assertNull(products.get(1));
+        assertEquals("Cable", products.get(2).getName());
+        BatchItemResult error = result.errors().get(0);
+        assertEquals(1, error.index());
+        assertEquals(BatchItemStatus.INVALID, error.status());
+        assertTrue(error.error().startsWith("Line 3 is not a valid product"), error.error());
+    }
+
+    @Test
+    void next_OverLongLine_ReportsItsLineNumberAndGoesOn() {
+        // Arrange
+        String longLine = "{\"name\":\"" + "x".repeat(200) + "\",\"description\":\"Long\",\"price\":1}";
+        String body = "{\"name\":\"Laptop\",\"description\":\"Fast\",\"price\":10.00}\r\n"
+                + longLine + "\r\n"
+                + "{\"name\":\"Cable\",\"description\":\"Long\",\"price\":2.50}";
+        NdjsonProductReader reader = new NdjsonProductReader(new StringReader(body),
+                objectMapper.readerFor(Product.class), 100);
+
+        // Act
+        List<Product> products = new ArrayList<>();
+        reader.forEachRemaining(products::add);
+        ImportResult result = reader.withParseErrors(new ImportResult(3, 2, 1,
+                List.of(BatchItemResult.invalid(1, null, "Product cannot be null"))));
+
+        // Assert
+        assertEquals(3, products.size());
+        assertEquals("Laptop", products.get(0).getName());
+        assertNull(products.get(1));
+        assertEquals("Cable", products.get(2).getName());
+        assertEquals("Line 2 is longer than 100 characters", result.errors().get(0).error());
+    }
+
+    @Test
+    void withParseErrors_OnlyValidationErrors_KeepsThem() {
+        // Arrange
+        NdjsonProductReader reader = reader("{\"name\":\"Laptop\",\"description\":\"Fast\",\"price\":-1}\n");
+        reader.forEachRemaining(product -> { });
+        ImportResult result = new ImportResult(1, 0, 1,
+                List.of(BatchItemResult.invalid(0, null, "Product price cannot be negative")));
+
+        // Act & Assert
+        assertSame(result, reader.withParseErrors(result));
+    }
+
+    private NdjsonProductReader reader(String body) {
+        return new NdjsonProductReader(new StringReader(body), objectMapper.readerFor(Product.class));
+    }
+}
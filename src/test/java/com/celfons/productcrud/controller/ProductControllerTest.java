@@ -0,0 +1,83 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.service.ProductNotFoundException;
+import com.celfons.productcrud.service.ProductService;
+import com.celfons.productcrud.service.ProductValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the conditional GET validators of ProductController and the statuses of its exception handler.
+ */
+class ProductControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ProductController controller = new ProductController(productService, Optional.empty(), objectMapper,
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ProductExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        Product product = new Product("Laptop", "High-performance laptop", new BigDecimal("1299.99"));
+        product.setId("1");
+        product.setVersion(3L);
+        when(productService.getProductById("1")).thenReturn(Optional.of(product));
+    }
+
+    @Test
+    void getProductById_SendsWeakETagVaryingByAccept() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void getProductById_MatchingETag_NotModifiedStillVariesByAccept() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void deleteProduct_SharedServiceExceptions_MapToBadRequestAndNotFound() throws Exception {
+        // Arrange
+        doThrow(ProductValidationException.of("Product ID cannot be null or empty"))
+                .when(productService).deleteProduct("blank");
+        doThrow(ProductNotFoundException.INSTANCE).when(productService).deleteProduct("missing");
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/products/blank")).andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/products/missing")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,80 @@
+package com.celfons.productcrud.controller;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.service.ProductNotFoundException;
+import com.celfons.productcrud.service.ProductValidationException;
+import com.celfons.productcrud.service.ReactiveProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the error mapping of ReactiveProductController.
+ */
+class ReactiveProductControllerTest {
+
+    @Mock
+    private ReactiveProductService productService;
+
+    private ReactiveProductController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        controller = new ReactiveProductController(productService);
+    }
+
+    @Test
+    void updateProduct_InvalidProduct_ReturnsBadRequest() {
+        // Arrange
+        when(productService.updateProduct(eq("1"), any(Product.class)))
+                .thenReturn(Mono.error(ProductValidationException.of("Product name cannot be empty")));
+
+        // Act & Assert
+        assertEquals(HttpStatus.BAD_REQUEST, controller.updateProduct("1", product()).block().getStatusCode());
+    }
+
+    @Test
+    void updateProduct_MissingProduct_ReturnsNotFound() {
+        // Arrange
+        when(productService.updateProduct(eq("1"), any(Product.class)))
+                .thenReturn(Mono.error(ProductNotFoundException.INSTANCE));
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_FOUND, controller.updateProduct("1", product()).block().getStatusCode());
+    }
+
+    @Test
+    void updateProduct_ConcurrentChange_ReturnsConflict() {
+        // Arrange
+        when(productService.updateProduct(eq("1"), any(Product.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("modified concurrently")));
+
+        // Act & Assert
+        assertEquals(HttpStatus.CONFLICT, controller.updateProduct("1", product()).block().getStatusCode());
+    }
+
+    @Test
+    void deleteProduct_MissingProduct_ReturnsNotFound() {
+        // Arrange
+        when(productService.deleteProduct("1")).thenReturn(Mono.error(ProductNotFoundException.INSTANCE));
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_FOUND, controller.deleteProduct("1").block().getStatusCode());
+    }
+
+    private static Product product() {
+        return new Product("Updated", "Updated Description", new BigDecimal("10.00"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.celfons.productcrud.integration;
+
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.sync.ProductChangeStreamListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration test for the change-stream listener against a real replica set, such as the single-node one
+ * described in the README (docker run ... mongo:7 --replSet rs0). Point it elsewhere with
+ * -Dproduct.sync.test-uri=...; it is skipped when no replica set answers.
+ */
+class ProductChangeStreamIntegrationTest {
+
+    private static final String URI = System.getProperty("product.sync.test-uri",
+            "mongodb://localhost:27017/productdb_sync_test?directConnection=true");
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private ProductCache productCache;
+    private ProductChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionString uri = new ConnectionString(URI);
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(2, TimeUnit.SECONDS))
+                .build());
+        boolean replicaSet;
+        try {
+            replicaSet = client.getDatabase("admin").runCommand(new Document("hello", 1)).containsKey("setName");
+        } catch (MongoException e) {
+            replicaSet = false;
+        }
+        assumeTrue(replicaSet, "No MongoDB replica set at " + URI);
+        mongoTemplate = new MongoTemplate(client, uri.getDatabase());
+        mongoTemplate.dropCollection(Product.class);
+        productCache = mock(ProductCache.class);
+        listener = new ProductChangeStreamListener(mongoTemplate, productCache, new CatalogVersion(),
+                Duration.ofMillis(100), Duration.ofMillis(100));
+        listener.onApplicationReady();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.stop();
+        }
+        client.close();
+    }
+
+    @Test
+    void coldStart_DropsCacheThenEvictsEveryWrittenProduct() throws InterruptedException {
+        // Arrange
+        Product product = new Product("Laptop", "Written by another instance", new BigDecimal("999.99"));
+        product.setId("sync-1");
+
+        // Act: the stream opens asynchronously, so write until a change comes through
+        verify(productCache, timeout(5000)).invalidateAll();
+        for (int attempt = 0; attempt < 50 && !invalidated("sync-1"); attempt++) {
+            product.setDescription("Written by another instance, attempt " + attempt);
+            mongoTemplate.save(product);
+            Thread.sleep(100);
+        }
+        mongoTemplate.remove(product);
+
+        // Assert
+        verify(productCache, timeout(5000).atLeast(2)).invalidate("sync-1");
+    }
+
+    private boolean invalidated(String id) {
+        return mockingDetails(productCache).getInvocations().stream()
+                .anyMatch(call -> call.getMethod().getName().equals("invalidate") && id.equals(call.getArgument(0)));
+    }
+}
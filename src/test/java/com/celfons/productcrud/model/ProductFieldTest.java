@@ -0,0 +1,52 @@
+package com.celfons.productcrud.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductField selections.
+ */
+class ProductFieldTest {
+
+    @Test
+    void parse_NoFields_SelectsEverything() {
+        // Act & Assert
+        assertEquals(ProductField.ALL, ProductField.parse(null));
+        assertEquals(ProductField.ALL, ProductField.parse(" "));
+    }
+
+    @Test
+    void parse_SomeFields_AlwaysIncludesId() {
+        // Act
+        Set<ProductField> fields = ProductField.parse("name, price");
+
+        // Assert
+        assertEquals(Set.of(ProductField.ID, ProductField.NAME, ProductField.PRICE), fields);
+    }
+
+    @Test
+    void parse_UnknownField_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ProductField.parse("name,createdAt"));
+    }
+
+    @Test
+    void select_SomeFields_KeepsOnlyThemInOrder() {
+        // Arrange
+        Product product = new Product("Laptop", "Long description", new BigDecimal("999.99"));
+        product.setId("1");
+
+        // Act
+        Map<String, Object> values = ProductField.select(product, ProductField.parse("price,name"));
+
+        // Assert
+        assertEquals(List.of("id", "name", "price"), List.copyOf(values.keySet()));
+        assertEquals(new BigDecimal("999.99"), values.get("price"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.celfons.productcrud.model;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductJsonSerializer, checked against Jackson's reflective bean serializer.
+ */
+class ProductJsonSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper beanMapper = objectMapper.copy().addMixIn(Product.class, BeanSerialized.class);
+
+    @Test
+    void serialize_FullProduct_MatchesBeanSerializer() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0, 30);
+        Product product = new Product("id1", "Laptop", "laptop", "Fast", new BigDecimal("999.90"),
+                createdAt, createdAt.plusDays(1), 3L);
+
+        // Act
+        String json = objectMapper.writeValueAsString(product);
+
+        // Assert
+        assertEquals(beanMapper.writeValueAsString(product), json);
+        assertTrue(json.contains("\"created_at\":\"2024-01-01T12:00:30\""));
+        assertFalse(json.contains("normalized"));
+    }
+
+    @Test
+    void serialize_EmptyProductsInList_WritesNulls() throws Exception {
+        // Arrange
+        List<Product> products = List.of(new Product(), new Product("Mouse", null, BigDecimal.ONE));
+
+        // Act
+        String json = objectMapper.writeValueAsString(products);
+
+        // Assert
+        assertEquals(beanMapper.writeValueAsString(products), json);
+    }
+
+    @Test
+    void serialize_DatesAsTimestamps_UsesMapperSettings() throws Exception {
+        // Arrange
+        ObjectMapper timestamps = objectMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Product product = new Product("Mouse", "Wireless", BigDecimal.TEN);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        // Act
+        String json = timestamps.writeValueAsString(product);
+
+        // Assert
+        assertTrue(json.contains("\"created_at\":[2024,1,1,12,0]"));
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialized {
+    }
+}
@@ -0,0 +1,257 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.stats.CatalogStatsAccumulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryProductStore and its append-only log.
+ */
+class InMemoryProductStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private InMemoryProductStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void insert_NewProduct_AssignsIdAndVersion() {
+        // Arrange
+        store = memoryOnly();
+
+        // Act
+        Product stored = store.insert(new Product("Laptop", "Portable computer", new BigDecimal("999.99")));
+
+        // Assert
+        assertNotNull(stored.getId());
+        assertEquals(0L, stored.getVersion());
+        assertEquals(Optional.of(stored), store.findById(stored.getId()));
+    }
+
+    @Test
+    void insert_ExistingId_ThrowsDuplicateKey() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop", "10.00"));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> store.insert(product("1", "Tablet", "20.00")));
+    }
+
+    @Test
+    void findPage_AfterCursor_ReturnsNextIdsInOrder() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("c", "Mouse", "10.00"));
+        store.insert(product("a", "Laptop", "10.00"));
+        store.insert(product("b", "Keyboard", "10.00"));
+
+        // Act
+        List<Product> page = store.findPage("a", 10);
+
+        // Assert
+        assertEquals(List.of("b", "c"), page.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void updateFields_ChangedPrice_MovesProductInPriceIndex() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop", "10.00"));
+        store.insert(product("2", "Mouse", "20.00"));
+
+        // Act
+        Optional<Product> updated = store.updateFields("1", product(null, "Laptop", "30.00"));
+
+        // Assert
+        assertTrue(updated.isPresent());
+        assertEquals(1L, updated.get().getVersion());
+        assertEquals(List.of("1", "2"), ids(store.findByPriceRange(new BigDecimal("0"), new BigDecimal("100"),
+                Sort.Direction.DESC, 0, 10)));
+        assertTrue(store.findByPriceRange(new BigDecimal("5"), new BigDecimal("15"), Sort.Direction.ASC, 0, 10).isEmpty());
+    }
+
+    @Test
+    void updateFields_StaleVersion_LeavesProductUnchanged() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop", "10.00"));
+        Product changes = product(null, "Tablet", "20.00");
+        changes.setVersion(5L);
+
+        // Act
+        Optional<Product> updated = store.updateFields("1", changes);
+
+        // Assert
+        assertTrue(updated.isEmpty());
+        assertEquals("Laptop", store.findById("1").orElseThrow().getName());
+    }
+
+    @Test
+    void findByNamePrefix_MatchingProducts_ReturnsThemByName() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop Pro", "10.00"));
+        store.insert(product("2", "Lamp", "10.00"));
+        store.insert(product("3", "Mouse", "10.00"));
+
+        // Act
+        List<Product> products = store.findByNamePrefix("la", 0, 10);
+
+        // Assert
+        assertEquals(List.of("2", "1"), ids(products));
+    }
+
+    @Test
+    void searchByNameText_SeveralWords_RanksByMatchedWords() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Gaming Laptop", "10.00"));
+        store.insert(product("2", "Gaming Mouse", "10.00"));
+        store.insert(product("3", "Office Laptop Pro", "10.00"));
+
+        // Act
+        List<Product> products = store.searchByNameText("gaming laptop", 0, 10);
+
+        // Assert
+        assertEquals(List.of("1", "2", "3"), ids(products));
+    }
+
+    @Test
+    void delete_ExistingProduct_RemovesItFromIndexes() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop", "10.00"));
+
+        // Act
+        boolean deleted = store.delete("1");
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(store.delete("1"));
+        assertTrue(store.findByNamePrefix("lap", 0, 10).isEmpty());
+        assertTrue(store.searchByNameText("laptop", 0, 10).isEmpty());
+    }
+
+    @Test
+    void restart_WithLog_ReplaysWrites(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path logPath = directory.resolve("products.log");
+        InMemoryProductStore first = withLog(logPath);
+        first.insert(product("1", "Laptop", "10.00"));
+        first.insert(product("2", "Mouse", "20.00"));
+        first.updateFields("1", product(null, "Laptop Pro", "15.00"));
+        first.delete("2");
+        first.close();
+
+        // Act
+        store = withLog(logPath);
+
+        // Assert
+        assertEquals(1, store.count());
+        Product restored = store.findById("1").orElseThrow();
+        assertEquals("Laptop Pro", restored.getName());
+        assertEquals(0, new BigDecimal("15.00").compareTo(restored.getPrice()));
+        assertEquals(1L, restored.getVersion());
+        assertEquals(List.of("1"), ids(store.findByNamePrefix("laptop", 0, 10)));
+        assertEquals(1, store.stats().count());
+        assertEquals(0, new BigDecimal("15.00").compareTo(store.stats().priceSum()));
+    }
+
+    @Test
+    void restart_CorruptRecordLength_StopsReplayAtTheLastIntactRecord(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path logPath = directory.resolve("products.log");
+        InMemoryProductStore first = withLog(logPath);
+        first.insert(product("1", "Laptop", "10.00"));
+        first.close();
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            long tail = Integer.BYTES * 2L + header.flip().getInt();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(Integer.MAX_VALUE - 1).flip(), tail);
+        }
+
+        // Act
+        store = withLog(logPath);
+        store.insert(product("2", "Mouse", "20.00"));
+        store.close();
+        store = withLog(logPath);
+
+        // Assert
+        assertEquals(2, store.count());
+        assertTrue(store.findById("1").isPresent());
+        assertTrue(store.findById("2").isPresent());
+    }
+
+    @Test
+    void stats_WritesApplied_TracksCountSumExtremesAndHistogram() {
+        // Arrange
+        store = memoryOnly();
+        store.insert(product("1", "Laptop", "5.00"));
+        store.insert(product("2", "Mouse", "50.00"));
+        store.insert(product("3", "Monitor", "250.00"));
+
+        // Act
+        store.updateFields("1", product(null, "Laptop", "40.00"));
+        store.delete("3");
+        CatalogStats stats = store.stats();
+
+        // Assert
+        assertEquals(2, stats.count());
+        assertEquals(0, new BigDecimal("90.00").compareTo(stats.priceSum()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(stats.minPrice()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(stats.maxPrice()));
+        assertEquals(0, new BigDecimal("45").compareTo(stats.averagePrice()));
+        assertEquals(List.of(0L, 2L, 0L),
+                stats.priceHistogram().stream().map(CatalogStats.PriceBucket::count).toList());
+        assertSame(stats, store.stats());
+    }
+
+    private InMemoryProductStore memoryOnly() {
+        return new InMemoryProductStore(false, null, DataSize.ofMegabytes(1), false, objectMapper, newStats());
+    }
+
+    private InMemoryProductStore withLog(Path logPath) {
+        return new InMemoryProductStore(true, logPath, DataSize.ofKilobytes(1), false, objectMapper, newStats());
+    }
+
+    private static CatalogStatsAccumulator newStats() {
+        return new CatalogStatsAccumulator(List.of(new BigDecimal("10"), new BigDecimal("100")));
+    }
+
+    private static Product product(String id, String name, String price) {
+        Product product = new Product(name, name + " description", new BigDecimal(price));
+        product.setId(id);
+        return product;
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
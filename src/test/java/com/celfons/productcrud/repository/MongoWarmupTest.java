@@ -0,0 +1,70 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MongoWarmup.
+ * Warm-up attempts are triggered directly, without starting the background worker.
+ */
+class MongoWarmupTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        warmup = new MongoWarmup(mongoTemplate, Duration.ofMillis(10));
+    }
+
+    @Test
+    void isWarm_BeforeWarmUp_IsFalse() {
+        // Act & Assert
+        assertFalse(warmup.isWarm());
+    }
+
+    @Test
+    void warmUp_DatabaseReachable_PingsReadsAndReportsWarm() {
+        // Act
+        boolean warm = warmup.warmUp();
+
+        // Assert
+        assertTrue(warm);
+        assertTrue(warmup.isWarm());
+        verify(mongoTemplate).executeCommand(any(Document.class));
+        verify(mongoTemplate).findOne(any(Query.class), eq(Product.class));
+    }
+
+    @Test
+    void warmUp_DatabaseUnreachable_StaysColdUntilRetrySucceeds() {
+        // Arrange
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new Document("ok", 1));
+
+        // Act
+        boolean first = warmup.warmUp();
+
+        // Assert
+        assertFalse(first);
+        assertFalse(warmup.isWarm());
+        assertTrue(warmup.warmUp());
+        assertTrue(warmup.isWarm());
+    }
+}
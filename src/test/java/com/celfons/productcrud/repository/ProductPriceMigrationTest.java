@@ -0,0 +1,71 @@
+package com.celfons.productcrud.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductPriceMigration.
+ */
+class ProductPriceMigrationTest {
+
+    @Mock
+    private MongoStartupOperations mongoOperations;
+
+    private ProductPriceMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        migration = new ProductPriceMigration(mongoOperations, true, 2);
+    }
+
+    @Test
+    void migrate_MalformedPrice_KeepsItAndMovesPastTheBatch() {
+        // Arrange
+        when(mongoOperations.findIds(any(Query.class)))
+                .thenReturn(List.of("a1", "a2"))
+                .thenReturn(List.of("a2"))
+                .thenReturn(List.of("a3"))
+                .thenReturn(List.of());
+        when(mongoOperations.updateMulti(any(Query.class), any(UpdateDefinition.class)))
+                .thenReturn(1L)
+                .thenReturn(1L);
+
+        // Act
+        long converted = migration.migrate();
+
+        // Assert
+        assertEquals(2, converted);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoOperations, times(2)).updateMulti(any(Query.class), update.capture());
+        String pipeline = ((AggregationUpdate) update.getValue()).toPipeline(Aggregation.DEFAULT_CONTEXT).toString();
+        assertTrue(pipeline.contains("onError"));
+        assertTrue(pipeline.contains("onNull"));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations, times(4)).findIds(queries.capture());
+        assertTrue(queries.getAllValues().get(2).getQueryObject().toJson().contains("a2"));
+    }
+
+    @Test
+    void migrate_Disabled_DoesNothing() {
+        // Act
+        long converted = new ProductPriceMigration(mongoOperations, false, 2).migrate();
+
+        // Assert
+        assertEquals(0, converted);
+        verifyNoInteractions(mongoOperations);
+    }
+}
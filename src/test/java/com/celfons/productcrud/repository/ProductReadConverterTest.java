@@ -0,0 +1,67 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductReadConverter.
+ */
+class ProductReadConverterTest {
+
+    private final ProductReadConverter converter = new ProductReadConverter();
+
+    @Test
+    void convert_StoredDocument_MapsEveryField() {
+        // Arrange
+        ObjectId id = new ObjectId();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Document document = new Document("_id", id)
+                .append("name", "Laptop")
+                .append("normalizedName", "laptop")
+                .append("description", "Fast")
+                .append("price", new Decimal128(new BigDecimal("999.90")))
+                .append("createdAt", Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .append("updatedAt", Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .append("version", 2);
+
+        // Act
+        Product product = converter.convert(document);
+
+        // Assert
+        assertEquals(id.toHexString(), product.getId());
+        assertEquals("Laptop", product.getName());
+        assertEquals("laptop", product.getNormalizedName());
+        assertEquals("Fast", product.getDescription());
+        assertEquals(new BigDecimal("999.90"), product.getPrice());
+        assertEquals(createdAt, product.getCreatedAt());
+        assertEquals(createdAt, product.getUpdatedAt());
+        assertEquals(2L, product.getVersion());
+    }
+
+    @Test
+    void convert_Projection_LeavesMissingFieldsNull() {
+        // Arrange
+        Document document = new Document("_id", "abc").append("price", "12.50");
+
+        // Act
+        Product product = converter.convert(document);
+
+        // Assert
+        assertEquals("abc", product.getId());
+        assertEquals(new BigDecimal("12.50"), product.getPrice());
+        assertNull(product.getName());
+        assertNull(product.getCreatedAt());
+        assertNull(product.getUpdatedAt());
+        assertNull(product.getVersion());
+    }
+}
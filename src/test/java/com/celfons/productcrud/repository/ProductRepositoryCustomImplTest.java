@@ -0,0 +1,92 @@
+package com.celfons.productcrud.repository;
+
+import com.celfons.productcrud.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batch writes of ProductRepositoryCustomImpl.
+ */
+class ProductRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ProductRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new ProductRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void bulkUpdate_TakesOutcomeFromEachWrite() {
+        // Arrange
+        when(mongoTemplate.findAndModify(byId("p1"), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Product.class))).thenReturn(product("p1", new BigDecimal("10.00")));
+        when(mongoTemplate.findAndModify(byId("p3"), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(Product.class))).thenThrow(new DataAccessResourceFailureException("timed out"));
+
+        // Act
+        BulkWriteOutcome outcome = repository.bulkUpdate(List.of(
+                product("p1", new BigDecimal("12.00")),
+                product("p2", new BigDecimal("5.00")),
+                product("p3", new BigDecimal("7.00"))));
+
+        // Assert
+        assertEquals(Set.of(1), outcome.missing());
+        assertEquals(Map.of(2, "timed out"), outcome.failures());
+        assertEquals(Map.of(0, new BigDecimal("10.00")), outcome.previousPrices());
+    }
+
+    @Test
+    void bulkDelete_ManyIds_RemovesEachOnceAndKeepsTheirPrices() {
+        // Arrange
+        int count = ProductRepositoryCustomImpl.WRITE_PARALLELISM * 3 + 1;
+        List<String> ids = IntStream.range(0, count).mapToObj(i -> "p" + i).toList();
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Product.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            return product((String) query.getQueryObject().get("_id"), BigDecimal.ONE);
+        });
+
+        // Act
+        BulkWriteOutcome outcome = repository.bulkDelete(ids);
+
+        // Assert
+        assertTrue(outcome.missing().isEmpty());
+        assertTrue(outcome.failures().isEmpty());
+        assertEquals(count, outcome.previousPrices().size());
+        for (String id : ids) {
+            verify(mongoTemplate).findAndRemove(byId(id), eq(Product.class));
+        }
+    }
+
+    private static Query byId(String id) {
+        return argThat(query -> query != null && id.equals(query.getQueryObject().get("_id")));
+    }
+
+    private static Product product(String id, BigDecimal price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        return product;
+    }
+}
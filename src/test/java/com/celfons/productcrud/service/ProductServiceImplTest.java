@@ -1,18 +1,52 @@
 package com.celfons.productcrud.service;
 
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.celfons.productcrud.concurrency.SingleFlight;
+import com.celfons.productcrud.model.BatchItemStatus;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.CatalogStats;
+import com.celfons.productcrud.model.ImportResult;
 import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.model.ProductField;
+import com.celfons.productcrud.model.ProductLookup;
+import com.celfons.productcrud.model.ProductPage;
+import com.celfons.productcrud.model.ProductQueryResult;
+import com.celfons.productcrud.model.ProductSearchMode;
+import com.celfons.productcrud.repository.BulkWriteOutcome;
 import com.celfons.productcrud.repository.ProductRepository;
+import com.celfons.productcrud.repository.ProductUpdate;
+import com.celfons.productcrud.stats.CatalogStatsAccumulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -21,15 +55,21 @@ import static org.mockito.Mockito.*;
  */
 class ProductServiceImplTest {
 
+    private static final Duration QUERY_TIMEOUT = Duration.ofMillis(500);
+
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    private CatalogStatsAccumulator catalogStats;
     private ProductServiceImpl productService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ProductCache productCache = new ProductCache(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        catalogStats = new CatalogStatsAccumulator(List.of(new BigDecimal("10"), new BigDecimal("100")));
+        productService = new ProductServiceImpl(productRepository, productCache, new CatalogVersion(),
+                new SingleFlight(true, new SimpleMeterRegistry()), catalogStats, QUERY_TIMEOUT, QUERY_TIMEOUT);
     }
 
     @Test
@@ -54,11 +94,32 @@ class ProductServiceImplTest {
     @Test
     void createProduct_NullProduct_ThrowsException() {
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ProductValidationException.class, () -> {
             productService.createProduct(null);
         });
     }
 
+    @Test
+    void createProduct_RepeatedInvalidProducts_ThrowOneSharedStacklessException() {
+        // Arrange
+        Product negative = new Product("Broken", "Negative price", new BigDecimal("-1.00"));
+        Product alsoNegative = new Product("Other", "Negative price", new BigDecimal("-2.00"));
+
+        // Act
+        ProductValidationException first = assertThrows(ProductValidationException.class,
+                () -> productService.createProduct(negative));
+        ProductValidationException second = assertThrows(ProductValidationException.class,
+                () -> productService.createProduct(alsoNegative));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("Product price cannot be negative", first.getMessage());
+        assertEquals(0, first.getStackTrace().length);
+        first.addSuppressed(new IllegalStateException("cleanup failed"));
+        assertEquals(0, first.getSuppressed().length);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
     @Test
     void getProductById_ValidId_ReturnsProduct() {
         // Arrange
@@ -77,14 +138,89 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    void getProductById_RepeatedReads_HitsRepositoryOnce() {
+        // Arrange
+        String productId = "1";
+        Product product = new Product("Test Product", "Test Description", new BigDecimal("99.99"));
+        product.setId(productId);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Act
+        productService.getProductById(productId);
+        Optional<Product> result = productService.getProductById(productId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        verify(productRepository, times(1)).findById(productId);
+    }
+
+    @Test
+    void updateProduct_CachedProduct_UpdatesInOneRoundTripAndInvalidatesCache() {
+        // Arrange
+        String productId = "1";
+        Product existing = new Product("Old Name", "Old Description", new BigDecimal("10.00"));
+        existing.setId(productId);
+        Product changes = new Product("New Name", "New Description", new BigDecimal("12.00"));
+        Product updated = new Product("New Name", "New Description", new BigDecimal("12.00"));
+        updated.setId(productId);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+        when(productRepository.updateFields(eq(productId), any(Product.class)))
+                .thenReturn(Optional.of(new ProductUpdate(existing, updated)));
+        productService.getProductById(productId);
+
+        // Act
+        Product result = productService.updateProduct(productId, changes);
+        productService.getProductById(productId);
+
+        // Assert
+        assertEquals("New Name", result.getName());
+        assertEquals("Old Name", existing.getName());
+        verify(productRepository, times(2)).findById(productId);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void updateProduct_StaleVersion_ThrowsConflict() {
+        // Arrange
+        String productId = "1";
+        Product changes = new Product("New Name", "New Description", new BigDecimal("12.00"));
+        changes.setVersion(3L);
+
+        when(productRepository.updateFields(eq(productId), any(Product.class))).thenReturn(Optional.empty());
+        when(productRepository.existsById(productId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            productService.updateProduct(productId, changes);
+        });
+    }
+
+    @Test
+    void updateProduct_NonExistingProduct_ThrowsException() {
+        // Arrange
+        String productId = "999";
+        Product changes = new Product("New Name", "New Description", new BigDecimal("12.00"));
+
+        when(productRepository.updateFields(eq(productId), any(Product.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> {
+            productService.updateProduct(productId, changes);
+        });
+        verify(productRepository, never()).existsById(productId);
+    }
+
     @Test
     void getProductById_InvalidId_ThrowsException() {
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ProductValidationException.class, () -> {
             productService.getProductById(null);
         });
 
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ProductValidationException.class, () -> {
             productService.getProductById("");
         });
     }
@@ -93,25 +229,501 @@ class ProductServiceImplTest {
     void deleteProduct_ExistingProduct_DeletesSuccessfully() {
         // Arrange
         String productId = "1";
-        when(productRepository.existsById(productId)).thenReturn(true);
+        when(productRepository.findAndDelete(productId)).thenReturn(Optional.of(product(productId, "10.00")));
 
         // Act
         productService.deleteProduct(productId);
 
         // Assert
-        verify(productRepository, times(1)).existsById(productId);
-        verify(productRepository, times(1)).deleteById(productId);
+        verify(productRepository, times(1)).findAndDelete(productId);
+        verify(productRepository, never()).existsById(productId);
     }
 
     @Test
     void deleteProduct_NonExistingProduct_ThrowsException() {
         // Arrange
         String productId = "999";
-        when(productRepository.existsById(productId)).thenReturn(false);
+        when(productRepository.findAndDelete(productId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ProductNotFoundException.class, () -> {
             productService.deleteProduct(productId);
         });
     }
+
+    @Test
+    void updateAndDeleteProduct_NonExistingProducts_ThrowPreallocatedNotFound() {
+        // Arrange
+        when(productRepository.updateFields(anyString(), any(Product.class))).thenReturn(Optional.empty());
+        when(productRepository.findAndDelete(anyString())).thenReturn(Optional.empty());
+        Product changes = new Product("New Name", "New Description", new BigDecimal("12.00"));
+
+        // Act & Assert
+        assertSame(ProductNotFoundException.INSTANCE,
+                assertThrows(ProductNotFoundException.class, () -> productService.updateProduct("998", changes)));
+        assertSame(ProductNotFoundException.INSTANCE,
+                assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct("999")));
+        assertEquals(0, ProductNotFoundException.INSTANCE.getStackTrace().length);
+        ProductNotFoundException.INSTANCE.addSuppressed(new IllegalStateException("cleanup failed"));
+        assertEquals(0, ProductNotFoundException.INSTANCE.getSuppressed().length);
+    }
+
+    @Test
+    void deleteProduct_ExistingProduct_ChangesCatalogVersion() {
+        // Arrange
+        when(productRepository.findAndDelete("1")).thenReturn(Optional.of(product("1", "10.00")));
+        long before = productService.getCatalogVersion();
+
+        // Act
+        productService.deleteProduct("1");
+
+        // Assert
+        assertTrue(productService.getCatalogVersion() > before);
+    }
+
+    @Test
+    void deleteProduct_NonExistingProduct_KeepsCatalogVersion() {
+        // Arrange
+        when(productRepository.findAndDelete("999")).thenReturn(Optional.empty());
+        long before = productService.getCatalogVersion();
+
+        // Act
+        assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct("999"));
+
+        // Assert
+        assertEquals(before, productService.getCatalogVersion());
+    }
+
+    @Test
+    void getProducts_FullFirstPage_ReturnsNextCursor() {
+        // Arrange
+        Product first = new Product("First", "First Description", new BigDecimal("1.00"));
+        first.setId("a1");
+        Product second = new Product("Second", "Second Description", new BigDecimal("2.00"));
+        second.setId("a2");
+
+        when(productRepository.findPage(isNull(), any(Limit.class), eq(ProductField.ALL)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        ProductPage page = productService.getProducts(null, 2, ProductField.ALL);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals("a2", page.nextCursor());
+    }
+
+    @Test
+    void getProducts_AfterCursor_UsesKeysetQuery() {
+        // Arrange
+        Product last = new Product("Last", "Last Description", new BigDecimal("3.00"));
+        last.setId("a3");
+
+        when(productRepository.findPage(eq("a2"), any(Limit.class), eq(ProductField.ALL))).thenReturn(List.of(last));
+
+        // Act
+        ProductPage page = productService.getProducts("a2", 2, ProductField.ALL);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void getProducts_InvalidLimit_ThrowsException() {
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> {
+            productService.getProducts(null, 0, ProductField.ALL);
+        });
+    }
+
+    @Test
+    void createProducts_MixedBatch_ReportsPerItemResults() {
+        // Arrange
+        Product valid = new Product("Valid", "Valid Description", new BigDecimal("5.00"));
+        Product invalid = new Product("", "Missing Name", new BigDecimal("5.00"));
+        Product duplicate = new Product("Duplicate", "Duplicate Description", new BigDecimal("6.00"));
+
+        when(productRepository.bulkInsert(anyList()))
+                .thenReturn(new BulkWriteOutcome(Set.of(), Map.of(1, "E11000 duplicate key error")));
+
+        // Act
+        BatchResult result = productService.createProducts(List.of(valid, invalid, duplicate));
+
+        // Assert
+        assertEquals(1, result.succeeded());
+        assertEquals(2, result.failed());
+        assertEquals(BatchItemStatus.CREATED, result.items().get(0).status());
+        assertNotNull(result.items().get(0).id());
+        assertEquals(BatchItemStatus.INVALID, result.items().get(1).status());
+        assertEquals(BatchItemStatus.FAILED, result.items().get(2).status());
+        verify(productRepository, times(1)).bulkInsert(anyList());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void importProducts_LongStream_InsertsOneChunkAtATimeAndKeepsTimestamps() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Product first = new Product("First", "Description", new BigDecimal("5.00"));
+        first.setId("first");
+        first.setCreatedAt(createdAt);
+        // Position 1500 stands for a line that could not be parsed
+        Stream<Product> products = Stream.concat(Stream.of(first), Stream.iterate(1, i -> i + 1).limit(2499)
+                .map(i -> i == 1500 ? null : new Product("Product " + i, "Description", new BigDecimal("10.00"))));
+        when(productRepository.bulkInsert(anyList())).thenReturn(new BulkWriteOutcome(Set.of(), Map.of()));
+
+        // Act
+        ImportResult result = productService.importProducts(products.iterator());
+
+        // Assert
+        assertEquals(2500, result.read());
+        assertEquals(2499, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(1500, result.errors().get(0).index());
+        assertEquals(BatchItemStatus.INVALID, result.errors().get(0).status());
+        assertEquals("first", first.getId());
+        assertEquals(createdAt, first.getCreatedAt());
+        assertEquals(0L, first.getVersion());
+        verify(productRepository, times(3)).bulkInsert(anyList());
+        assertEquals(2499, productService.getCatalogStats().count());
+    }
+
+    @Test
+    void lookupProducts_SomeCachedSomeMissing_QueriesOnlyUncachedIdsOnce() {
+        // Arrange
+        Product cached = new Product("Cached", "Description", new BigDecimal("5.00"));
+        cached.setId("1");
+        Product stored = new Product("Stored", "Description", new BigDecimal("6.00"));
+        stored.setId("2");
+        when(productRepository.findById("1")).thenReturn(Optional.of(cached));
+        when(productRepository.findAllById(any())).thenReturn(List.of(stored));
+        productService.getProductById("1");
+
+        // Act
+        ProductLookup lookup = productService.lookupProducts(List.of("2", "1", "3", "2"));
+
+        // Assert
+        assertEquals(List.of(stored, cached), lookup.items());
+        assertEquals(List.of("3"), lookup.missing());
+        verify(productRepository).findAllById(Set.of("2", "3"));
+        verify(productRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void lookupProducts_LoadedProducts_AreNotCached() {
+        // Arrange
+        Product stored = new Product("Stored", "Description", new BigDecimal("6.00"));
+        stored.setId("2");
+        when(productRepository.findAllById(any())).thenReturn(List.of(stored));
+        when(productRepository.findById("2")).thenReturn(Optional.of(stored));
+
+        // Act
+        productService.lookupProducts(List.of("2"));
+        productService.getProductById("2");
+
+        // Assert
+        verify(productRepository).findById("2");
+    }
+
+    @Test
+    void lookupProducts_BlankOrTooManyIds_ThrowsException() {
+        // Arrange
+        List<String> tooMany = Stream.iterate(0, i -> i + 1).limit(ProductService.MAX_LOOKUP_SIZE + 1)
+                .map(String::valueOf).toList();
+
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> productService.lookupProducts(List.of()));
+        assertThrows(ProductValidationException.class, () -> productService.lookupProducts(List.of("1", " ")));
+        assertThrows(ProductValidationException.class, () -> productService.lookupProducts(tooMany));
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void deleteProducts_MissingId_ReportsNotFound() {
+        // Arrange
+        when(productRepository.bulkDelete(List.of("1", "2")))
+                .thenReturn(new BulkWriteOutcome(Set.of(1), Map.of()));
+
+        // Act
+        BatchResult result = productService.deleteProducts(List.of("1", "2"));
+
+        // Assert
+        assertEquals(BatchItemStatus.DELETED, result.items().get(0).status());
+        assertEquals(BatchItemStatus.NOT_FOUND, result.items().get(1).status());
+    }
+
+    @Test
+    void deleteProducts_DuplicateId_DeletesOnceAndRejectsTheRepeat() {
+        // Arrange
+        when(productRepository.bulkDelete(List.of("1"))).thenReturn(new BulkWriteOutcome(Set.of(), Map.of()));
+
+        // Act
+        BatchResult result = productService.deleteProducts(List.of("1", "1"));
+
+        // Assert
+        assertEquals(BatchItemStatus.DELETED, result.items().get(0).status());
+        assertEquals(BatchItemStatus.INVALID, result.items().get(1).status());
+        verify(productRepository).bulkDelete(List.of("1"));
+    }
+
+    @Test
+    void createProduct_ValidProduct_AddsPriceToCatalogStats() {
+        // Arrange
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        productService.createProduct(new Product("Cheap", "Description", new BigDecimal("5.00")));
+        productService.createProduct(new Product("Pricey", "Description", new BigDecimal("150.00")));
+        CatalogStats stats = productService.getCatalogStats();
+
+        // Assert
+        assertEquals(2, stats.count());
+        assertEquals(0, new BigDecimal("155.00").compareTo(stats.priceSum()));
+        assertEquals(0, new BigDecimal("5.00").compareTo(stats.minPrice()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(stats.maxPrice()));
+        assertEquals(List.of(1L, 0L, 1L),
+                stats.priceHistogram().stream().map(CatalogStats.PriceBucket::count).toList());
+    }
+
+    @Test
+    void deleteProduct_MostExpensiveProduct_ReadsExtremesFromIndex() {
+        // Arrange
+        catalogStats.add(new BigDecimal("5.00"));
+        catalogStats.add(new BigDecimal("20.00"));
+        catalogStats.add(new BigDecimal("150.00"));
+        when(productRepository.findAndDelete("3")).thenReturn(Optional.of(product("3", "150.00")));
+        when(productRepository.findExtremePrice(Sort.Direction.ASC)).thenReturn(Optional.of(new BigDecimal("5.00")));
+        when(productRepository.findExtremePrice(Sort.Direction.DESC)).thenReturn(Optional.of(new BigDecimal("20.00")));
+
+        // Act
+        productService.deleteProduct("3");
+        CatalogStats stats = productService.getCatalogStats();
+
+        // Assert
+        assertEquals(2, stats.count());
+        assertEquals(0, new BigDecimal("20.00").compareTo(stats.maxPrice()));
+        assertEquals(0, new BigDecimal("12.50").compareTo(stats.averagePrice()));
+    }
+
+    @Test
+    void deleteProduct_MiddlePrice_LeavesExtremesWithoutQuery() {
+        // Arrange
+        catalogStats.add(new BigDecimal("5.00"));
+        catalogStats.add(new BigDecimal("20.00"));
+        catalogStats.add(new BigDecimal("150.00"));
+        when(productRepository.findAndDelete("2")).thenReturn(Optional.of(product("2", "20.00")));
+
+        // Act
+        productService.deleteProduct("2");
+
+        // Assert
+        assertEquals(2, productService.getCatalogStats().count());
+        verify(productRepository, never()).findExtremePrice(any());
+    }
+
+    @Test
+    void updateProducts_ChangedPrices_MovesPricesBetweenBuckets() {
+        // Arrange
+        catalogStats.add(new BigDecimal("5.00"));
+        catalogStats.add(new BigDecimal("50.00"));
+        Product first = product("1", "500.00");
+        Product second = product("2", "60.00");
+        when(productRepository.bulkUpdate(anyList())).thenReturn(new BulkWriteOutcome(Set.of(), Map.of(),
+                Map.of(0, new BigDecimal("5.00"), 1, new BigDecimal("50.00"))));
+        when(productRepository.findExtremePrice(Sort.Direction.ASC)).thenReturn(Optional.of(new BigDecimal("60.00")));
+        when(productRepository.findExtremePrice(Sort.Direction.DESC)).thenReturn(Optional.of(new BigDecimal("500.00")));
+
+        // Act
+        productService.updateProducts(List.of(first, second));
+        CatalogStats stats = productService.getCatalogStats();
+
+        // Assert
+        assertEquals(2, stats.count());
+        assertEquals(0, new BigDecimal("560.00").compareTo(stats.priceSum()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(stats.minPrice()));
+        assertEquals(List.of(0L, 1L, 1L),
+                stats.priceHistogram().stream().map(CatalogStats.PriceBucket::count).toList());
+    }
+
+    @Test
+    void updateProducts_DuplicateId_WritesOnceAndCountsThePriceChangeOnce() {
+        // Arrange
+        catalogStats.add(new BigDecimal("5.00"));
+        Product first = product("1", "50.00");
+        Product repeat = product("1", "60.00");
+        when(productRepository.bulkUpdate(List.of(first))).thenReturn(new BulkWriteOutcome(Set.of(), Map.of(),
+                Map.of(0, new BigDecimal("5.00"))));
+        when(productRepository.findExtremePrice(Sort.Direction.ASC)).thenReturn(Optional.of(new BigDecimal("50.00")));
+        when(productRepository.findExtremePrice(Sort.Direction.DESC)).thenReturn(Optional.of(new BigDecimal("50.00")));
+
+        // Act
+        BatchResult result = productService.updateProducts(List.of(first, repeat));
+        CatalogStats stats = productService.getCatalogStats();
+
+        // Assert
+        assertEquals(BatchItemStatus.UPDATED, result.items().get(0).status());
+        assertEquals(BatchItemStatus.INVALID, result.items().get(1).status());
+        verify(productRepository).bulkUpdate(List.of(first));
+        assertEquals(1, stats.count());
+        assertEquals(0, new BigDecimal("50.00").compareTo(stats.priceSum()));
+    }
+
+    @Test
+    void createProducts_EmptyBatch_ThrowsException() {
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> {
+            productService.createProducts(List.of());
+        });
+    }
+
+    @Test
+    void searchProductsByName_PrefixMode_UsesNormalizedPrefix() {
+        // Arrange
+        Product product = new Product("Laptop Pro", "High-performance laptop", new BigDecimal("1299.99"));
+
+        when(productRepository.findByNamePrefix("lap", PageRequest.of(1, 10), ProductField.ALL))
+                .thenReturn(List.of(product));
+
+        // Act
+        List<Product> result = productService.searchProductsByName(
+                "  LAP ", ProductSearchMode.PREFIX, 1, 10, ProductField.ALL);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(productRepository, never()).searchByNameText(any(), any(), any());
+    }
+
+    @Test
+    void searchProductsByName_TextMode_UsesTextIndex() {
+        // Act
+        productService.searchProductsByName("laptop", ProductSearchMode.TEXT, 0, 20, ProductField.ALL);
+
+        // Assert
+        verify(productRepository, times(1)).searchByNameText("laptop", PageRequest.of(0, 20), ProductField.ALL);
+    }
+
+    @Test
+    void searchProductsByName_BlankNameLaterPage_ReturnsNothing() {
+        // Act
+        List<Product> result = productService.searchProductsByName(
+                "  ", ProductSearchMode.PREFIX, 1, 10, ProductField.ALL);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(productRepository, never()).findPage(any(), any(), any());
+    }
+
+    @Test
+    void findProductsByPriceRange_ValidRange_SortsByPriceAndId() {
+        // Arrange
+        BigDecimal min = new BigDecimal("10.00");
+        BigDecimal max = new BigDecimal("20.00");
+
+        // Act
+        Set<ProductField> fields = ProductField.parse("name,price");
+        productService.findProductsByPriceRange(min, max, Sort.Direction.DESC, 2, 50, fields);
+
+        // Assert
+        verify(productRepository, times(1)).findByPriceRange(min, max,
+                PageRequest.of(2, 50, Sort.by(Sort.Direction.DESC, "price", "id")), fields);
+    }
+
+    @Test
+    void findProductsByPriceRange_InvertedRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> {
+            productService.findProductsByPriceRange(new BigDecimal("20"), new BigDecimal("10"),
+                    Sort.Direction.ASC, 0, 20, ProductField.ALL);
+        });
+    }
+
+    @Test
+    void queryProducts_ValidQuery_RunsSubqueriesInParallel() {
+        // Arrange: each subquery only returns once all three are running at the same time
+        CountDownLatch allRunning = new CountDownLatch(3);
+        BigDecimal min = new BigDecimal("10");
+        BigDecimal max = new BigDecimal("20");
+        CatalogStats stats = new CatalogStats(5, new BigDecimal("75"), min, max, new BigDecimal("15"), List.of());
+        when(productRepository.findByNameAndPriceRange("laptop", ProductSearchMode.TEXT, min, max,
+                PageRequest.of(0, 20), ProductField.ALL))
+                .thenAnswer(invocation -> awaitAll(allRunning, List.of(product("1", "12.00"))));
+        when(productRepository.countByNameAndPriceRange("laptop", ProductSearchMode.TEXT, min, max))
+                .thenAnswer(invocation -> awaitAll(allRunning, 3L));
+        when(productRepository.aggregateStatsByName("laptop", ProductSearchMode.TEXT, catalogStats.bucketStarts()))
+                .thenAnswer(invocation -> awaitAll(allRunning, stats));
+
+        // Act
+        ProductQueryResult result = productService.queryProducts(" laptop ", ProductSearchMode.TEXT, min, max,
+                0, 20, ProductField.ALL);
+
+        // Assert
+        assertEquals(1, result.items().size());
+        assertEquals(3L, result.total());
+        assertEquals(stats, result.nameMatchStats());
+    }
+
+    @Test
+    void queryProducts_SubqueryFails_CancelsTheOthersAndRethrows() {
+        // Arrange
+        AtomicBoolean itemsInterrupted = new AtomicBoolean();
+        when(productRepository.findByNameAndPriceRange(anyString(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        itemsInterrupted.set(true);
+                    }
+                    return List.of();
+                });
+        when(productRepository.countByNameAndPriceRange(anyString(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> productService.queryProducts("lap",
+                ProductSearchMode.PREFIX, BigDecimal.ONE, BigDecimal.TEN, 0, 20, ProductField.ALL));
+        assertTrue(itemsInterrupted.get());
+    }
+
+    @Test
+    void queryProducts_SubqueryMissesDeadline_ThrowsQueryTimeout() {
+        // Arrange
+        AtomicBoolean statsInterrupted = new AtomicBoolean();
+        when(productRepository.aggregateStatsByName(anyString(), any(), anyList())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                statsInterrupted.set(true);
+            }
+            return null;
+        });
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> productService.queryProducts("lap",
+                ProductSearchMode.PREFIX, BigDecimal.ONE, BigDecimal.TEN, 0, 20, ProductField.ALL));
+        assertTrue(statsInterrupted.get());
+    }
+
+    @Test
+    void queryProducts_BlankNameOrInvertedRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> productService.queryProducts(" ",
+                ProductSearchMode.TEXT, BigDecimal.ONE, BigDecimal.TEN, 0, 20, ProductField.ALL));
+        assertThrows(ProductValidationException.class, () -> productService.queryProducts("laptop",
+                ProductSearchMode.TEXT, BigDecimal.TEN, BigDecimal.ONE, 0, 20, ProductField.ALL));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static <T> T awaitAll(CountDownLatch latch, T result) throws InterruptedException {
+        latch.countDown();
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Subqueries did not run in parallel");
+        return result;
+    }
+
+    private static Product product(String id, String price) {
+        Product product = new Product("Product " + id, "Description", new BigDecimal(price));
+        product.setId(id);
+        return product;
+    }
 }
\ No newline at end of file
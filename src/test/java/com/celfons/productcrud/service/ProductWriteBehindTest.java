@@ -0,0 +1,167 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.model.BatchItemResult;
+import com.celfons.productcrud.model.BatchItemStatus;
+import com.celfons.productcrud.model.BatchResult;
+import com.celfons.productcrud.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductWriteBehind.
+ * Flushes are triggered directly, without starting the background worker.
+ */
+class ProductWriteBehindTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private ProductService productService;
+
+    private ProductWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writeBehind = new ProductWriteBehind(productService, 2, 500, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        when(productService.getProductById(anyString())).thenAnswer(invocation -> {
+            Product stored = product("Stored", "1.00");
+            stored.setId(invocation.getArgument(0));
+            stored.setCreatedAt(CREATED_AT);
+            stored.setVersion(3L);
+            return Optional.of(stored);
+        });
+        when(productService.updateProducts(anyList())).thenAnswer(invocation -> succeeded(invocation.getArgument(0)));
+    }
+
+    @Test
+    void submit_ValidUpdate_IsPendingUntilFlushed() {
+        // Act
+        Product accepted = writeBehind.submit("1", product("Laptop", "10.00"));
+
+        // Assert
+        assertEquals("1", accepted.getId());
+        assertEquals(CREATED_AT, accepted.getCreatedAt());
+        assertNotNull(accepted.getUpdatedAt());
+        assertNull(accepted.getVersion());
+        assertEquals(Optional.of(accepted), writeBehind.pending("1"));
+        verify(productService, never()).updateProducts(anyList());
+
+        // Act
+        assertTrue(writeBehind.flush());
+
+        // Assert
+        assertTrue(writeBehind.pending("1").isEmpty());
+    }
+
+    @Test
+    void flush_RepeatedUpdatesOfOneProduct_WritesOnlyTheLatest() {
+        // Arrange
+        writeBehind.submit("1", product("Laptop", "10.00"));
+        writeBehind.submit("1", product("Laptop", "12.00"));
+        writeBehind.submit("2", product("Mouse", "5.00"));
+
+        // Act
+        writeBehind.flush();
+
+        // Assert
+        verify(productService).updateProducts(argThat(batch -> batch.size() == 2
+                && batch.stream().anyMatch(p -> p.getId().equals("1")
+                        && p.getPrice().equals(new BigDecimal("12.00")))));
+    }
+
+    @Test
+    void submit_QueueFull_RejectsNewIdsButCoalescesPendingOnes() {
+        // Arrange
+        writeBehind.submit("1", product("Laptop", "10.00"));
+        writeBehind.submit("2", product("Mouse", "5.00"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> writeBehind.submit("3", product("Monitor", "99.00")));
+        assertDoesNotThrow(() -> writeBehind.submit("2", product("Mouse", "6.00")));
+    }
+
+    @Test
+    void submit_InvalidOrMissingProduct_Throws() {
+        // Arrange
+        when(productService.getProductById("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> writeBehind.submit("1", product("Laptop", "-1")));
+        assertThrows(ProductNotFoundException.class,
+                () -> writeBehind.submit("missing", product("Laptop", "10.00")));
+        assertTrue(writeBehind.pending("missing").isEmpty());
+    }
+
+    @Test
+    void flush_WriteFails_KeepsUpdatesForTheNextFlush() {
+        // Arrange
+        writeBehind.submit("1", product("Laptop", "10.00"));
+        when(productService.updateProducts(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(invocation -> succeeded(invocation.getArgument(0)));
+
+        // Act
+        boolean first = writeBehind.flush();
+
+        // Assert
+        assertFalse(first);
+        assertTrue(writeBehind.pending("1").isPresent());
+        assertTrue(writeBehind.flush());
+        assertTrue(writeBehind.pending("1").isEmpty());
+    }
+
+    @Test
+    void discard_PendingUpdate_IsNotWritten() {
+        // Arrange
+        writeBehind.submit("1", product("Laptop", "10.00"));
+
+        // Act
+        writeBehind.discard("1");
+        writeBehind.flush();
+
+        // Assert
+        verify(productService, never()).updateProducts(anyList());
+    }
+
+    @Test
+    void drain_PendingUpdates_WritesThemAndStopsAccepting() {
+        // Arrange
+        writeBehind.submit("1", product("Laptop", "10.00"));
+
+        // Act
+        writeBehind.drain();
+
+        // Assert
+        verify(productService).updateProducts(anyList());
+        assertTrue(writeBehind.pending("1").isEmpty());
+        assertThrows(IllegalStateException.class, () -> writeBehind.submit("2", product("Mouse", "5.00")));
+    }
+
+    private static Product product(String name, String price) {
+        return new Product(name, "Description", new BigDecimal(price));
+    }
+
+    private static BatchResult succeeded(List<Product> products) {
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = BatchItemResult.succeeded(i, products.get(i).getId(), BatchItemStatus.UPDATED);
+        }
+        return BatchResult.of(results);
+    }
+}
@@ -0,0 +1,103 @@
+package com.celfons.productcrud.service;
+
+import com.celfons.productcrud.model.Product;
+import com.celfons.productcrud.repository.ReactiveProductRepository;
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveProductServiceImpl.
+ * Publishers are blocked on so the tests read like the servlet-stack ones.
+ */
+class ReactiveProductServiceImplTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private ReactiveProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productService = new ReactiveProductServiceImpl(productRepository, mongoTemplate);
+    }
+
+    @Test
+    void createProduct_ValidProduct_SavesProduct() {
+        // Arrange
+        Product product = new Product("Test Product", "Test Description", new BigDecimal("99.99"));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act
+        Product result = productService.createProduct(product).block();
+
+        // Assert
+        assertNotNull(result);
+        assertNotNull(result.getCreatedAt());
+        verify(productRepository, times(1)).save(product);
+    }
+
+    @Test
+    void createProduct_InvalidProduct_SignalsErrorWithoutSaving() {
+        // Arrange
+        Product product = new Product("", "Test Description", new BigDecimal("99.99"));
+
+        // Act & Assert
+        assertThrows(ProductValidationException.class, () -> productService.createProduct(product).block());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void updateProduct_StaleVersion_SignalsConflict() {
+        // Arrange
+        Product changes = new Product("Updated", "Updated Description", new BigDecimal("10.00"));
+        changes.setVersion(3L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Product.class))).thenReturn(Mono.empty());
+        when(productRepository.existsById("1")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> productService.updateProduct("1", changes).block());
+    }
+
+    @Test
+    void updateProduct_MissingProduct_SignalsNotFound() {
+        // Arrange
+        Product changes = new Product("Updated", "Updated Description", new BigDecimal("10.00"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Product.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.updateProduct("missing", changes).block());
+    }
+
+    @Test
+    void deleteProduct_NonExistingProduct_SignalsError() {
+        // Arrange
+        when(mongoTemplate.remove(any(Query.class), eq(Product.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct("missing").block());
+    }
+}
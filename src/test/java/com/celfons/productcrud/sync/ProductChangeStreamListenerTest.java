@@ -0,0 +1,91 @@
+package com.celfons.productcrud.sync;
+
+import com.celfons.productcrud.cache.CatalogVersion;
+import com.celfons.productcrud.cache.ProductCache;
+import com.mongodb.client.model.changestream.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductChangeStreamListener.
+ * Applies change events directly, without a change stream.
+ */
+class ProductChangeStreamListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProductCache productCache;
+
+    private CatalogVersion catalogVersion;
+    private ProductChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogVersion = new CatalogVersion();
+        listener = new ProductChangeStreamListener(mongoTemplate, productCache, catalogVersion,
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void apply_Update_InvalidatesCacheAndBumpsVersion() {
+        // Arrange
+        long before = catalogVersion.current();
+
+        // Act
+        boolean proceed = listener.apply(OperationType.UPDATE, "1");
+
+        // Assert
+        assertTrue(proceed);
+        verify(productCache).invalidate("1");
+        assertTrue(catalogVersion.current() > before);
+    }
+
+    @Test
+    void apply_Delete_InvalidatesCacheAndBumpsVersion() {
+        // Arrange
+        long before = catalogVersion.current();
+
+        // Act
+        boolean proceed = listener.apply(OperationType.DELETE, "1");
+
+        // Assert
+        assertTrue(proceed);
+        verify(productCache).invalidate("1");
+        assertTrue(catalogVersion.current() > before);
+    }
+
+    @Test
+    void apply_Drop_ResynchronizesAndStops() {
+        // Act
+        boolean proceed = listener.apply(OperationType.DROP, null);
+
+        // Assert
+        assertFalse(proceed);
+        verify(productCache).invalidateAll();
+    }
+
+    @Test
+    void apply_OtherEvent_LeavesStateUntouched() {
+        // Arrange
+        long before = catalogVersion.current();
+
+        // Act
+        boolean proceed = listener.apply(OperationType.OTHER, null);
+
+        // Assert
+        assertTrue(proceed);
+        verifyNoInteractions(productCache);
+        assertEquals(before, catalogVersion.current());
+    }
+}
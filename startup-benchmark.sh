@@ -0,0 +1,85 @@
+#!/bin/bash
+# Measures time-to-first-request of the JVM, AOT + CDS and native variants against the same MongoDB:
+# the time from launching the process until GET /api/products?limit=1 first answers 200.
+#
+# Usage:
+#   SPRING_DATA_MONGODB_URI=mongodb://localhost:27017/productdb ./startup-benchmark.sh
+#   RUNS=10 ./startup-benchmark.sh
+#
+# Builds the jar with the aot profile (it also runs without AOT), then unpacks it and creates the CDS archive
+# with a training run. The native variant is measured when target/product-crud exists
+# (./mvnw -Pnative native:compile -DskipTests).
+
+set -e
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+NATIVE=target/product-crud
+CDS_DIR=target/cds
+RESULTS="target/startup-benchmark"
+
+[ -n "$SPRING_DATA_MONGODB_URI" ] || { echo "❌ SPRING_DATA_MONGODB_URI must be set"; exit 1; }
+mkdir -p "$RESULTS"
+
+echo "🔨 Building with Spring AOT processing"
+./mvnw -B -q -Paot clean package -DskipTests
+JAR=$(ls target/product-crud-*.jar | head -n 1)
+
+echo "📦 Creating the CDS archive with a training run"
+rm -rf "$CDS_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR"
+CDS_JAR="$CDS_DIR/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar "$CDS_JAR" > "$RESULTS/training.log" 2>&1
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the milliseconds from launching the given command until the first successful request
+time_to_first_request() {
+    local log="$1"
+    shift
+    local started
+    started=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/products?limit=1"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ Process exited, see $log" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    echo $(( $(now_ms) - started ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_variant() {
+    local variant="$1"
+    shift
+    local times=()
+    echo "🚀 $variant"
+    for run in $(seq 1 "$RUNS"); do
+        times+=("$(time_to_first_request "$RESULTS/$variant-$run.log" "$@")")
+    done
+    printf "%s\n" "${times[@]}" | sort -n > "$RESULTS/$variant.txt"
+}
+
+run_variant jvm java -jar "$JAR"
+run_variant cds java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true -jar "$CDS_JAR"
+if [ -x "$NATIVE" ]; then
+    run_variant native "$NATIVE"
+else
+    echo "⏭️  Skipping native: $NATIVE not found"
+fi
+
+echo ""
+printf "%-8s %10s %10s %10s\n" "Variant" "Min (ms)" "Median (ms)" "Max (ms)"
+for variant in jvm cds native; do
+    file="$RESULTS/$variant.txt"
+    [ -f "$file" ] || continue
+    printf "%-8s %10s %10s %10s\n" "$variant" "$(head -n 1 "$file")" \
+        "$(sed -n "$(( ($(wc -l < "$file") + 1) / 2 ))p" "$file")" "$(tail -n 1 "$file")"
+done